@@ -4,6 +4,7 @@ plugins {
     id("io.spring.dependency-management") version "1.1.4"
     id("org.flywaydb.flyway") version "10.8.1"
     id("org.openapi.generator") version "7.2.0"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.acme.bida"
@@ -28,13 +29,16 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-security")
+    implementation("org.springframework.security:spring-security-data")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-websocket")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
     
     // Database
     implementation("org.postgresql:postgresql")
     implementation("org.flywaydb:flyway-core")
+    implementation("org.hibernate.orm:hibernate-jcache")
     
     // JWT
     implementation("io.jsonwebtoken:jjwt-api:0.12.3")
@@ -46,6 +50,8 @@ dependencies {
     
     // Utilities
     implementation("org.apache.commons:commons-lang3:3.14.0")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("com.github.ben-manes.caffeine:jcache")
     implementation("com.fasterxml.jackson.datatype:jackson-datatype-jsr310")
     
     // Development
@@ -57,12 +63,39 @@ dependencies {
     testImplementation("org.springframework.security:spring-security-test")
     testImplementation("org.testcontainers:postgresql:1.19.3")
     testImplementation("org.testcontainers:junit-jupiter:1.19.3")
+    
+    // Benchmarks (src/jmh) that boot the application against an embedded PostgreSQL
+    "jmhImplementation"("io.zonky.test:embedded-postgres:2.0.6")
 }
 
 tasks.withType<Test> {
     useJUnitPlatform()
 }
 
+// Microbenchmarks live in src/jmh/java; run with ./gradlew jmh
+jmh {
+    jmhVersion.set("1.37")
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    resultFormat.set("JSON")
+}
+
+// End-to-end load scenario (LoadScenario in src/jmh) against an embedded PostgreSQL; writes
+// build/reports/load/load-scenario.json. Tune with -PloadUsers, -PloadWarmup and -PloadDuration (seconds).
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Runs the login, list tables, order and close bill scenario and reports throughput and latency percentiles"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("com.acme.bida.bench.LoadScenario")
+    args(
+        "users=${project.findProperty("loadUsers") ?: 8}",
+        "warmup=${project.findProperty("loadWarmup") ?: 10}",
+        "duration=${project.findProperty("loadDuration") ?: 60}",
+        "output=${layout.buildDirectory.file("reports/load/load-scenario.json").get().asFile}"
+    )
+}
+
 // OpenAPI Code Generation - Disabled for now
 // openApiGenerate {
 //     generatorName.set("spring")
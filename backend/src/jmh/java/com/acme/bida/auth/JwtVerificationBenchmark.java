@@ -0,0 +1,61 @@
+package com.acme.bida.auth;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request JWT verification cost: the previous filter path (key rebuilt and token parsed
+ * twice, once for the subject and once for the expiry) against a single {@link JwtUtil#verify} call,
+ * plus the cost of signing a new access token at login and refresh.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "your-256-bit-secret-key-here-change-in-production";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 86_400_000L, new SimpleMeterRegistry());
+        token = jwtUtil.generateToken("staff_d7_1", 3L, "STAFF");
+    }
+
+    @Benchmark
+    public boolean beforeRebuildKeyAndParseTwice() {
+        String username = legacyClaims(token).getSubject();
+        boolean valid = !legacyClaims(token).getExpiration().before(new Date());
+        return username != null && valid;
+    }
+
+    @Benchmark
+    public boolean afterSingleVerify() {
+        return jwtUtil.verify(token)
+                .map(verified -> verified.subject() != null)
+                .orElse(false);
+    }
+
+    @Benchmark
+    public String signToken() {
+        return jwtUtil.generateToken("staff_d7_1", 3L, "STAFF");
+    }
+
+    private static Claims legacyClaims(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,84 @@
+package com.acme.bida.bench;
+
+import com.acme.bida.BidaApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots the full application against a throwaway embedded PostgreSQL with the real Flyway
+ * migrations, for benchmarks that need the actual repositories and transactions.
+ */
+public final class BenchmarkApplication implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkApplication(EmbeddedPostgres postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    public static BenchmarkApplication start(String... extraProperties) {
+        EmbeddedPostgres postgres;
+        try {
+            postgres = EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start embedded PostgreSQL", e);
+        }
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        for (String property : List.of(
+                "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "spring.datasource.username=postgres",
+                "spring.datasource.password=postgres",
+                "server.port=0",
+                "logging.level.root=WARN",
+                "logging.level.com.acme.bida=WARN",
+                "logging.level.org.springframework.security=WARN",
+                "logging.level.org.hibernate.SQL=WARN",
+                "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN")) {
+            put(properties, property);
+        }
+        // Extra properties replace defaults with the same key; repeated arguments would be merged into a list
+        for (String property : extraProperties) {
+            put(properties, property);
+        }
+
+        // Passed as command line arguments so they take precedence over application.yml
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BidaApplication.class)
+                .run(properties.entrySet().stream()
+                        .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                        .toArray(String[]::new));
+        return new BenchmarkApplication(postgres, context);
+    }
+
+    private static void put(Map<String, String> properties, String property) {
+        int separator = property.indexOf('=');
+        properties.put(property.substring(0, separator), property.substring(separator + 1));
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public int port() {
+        return Integer.parseInt(context.getEnvironment().getProperty("local.server.port", "0"));
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        try {
+            postgres.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
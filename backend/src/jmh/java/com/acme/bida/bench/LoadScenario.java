@@ -0,0 +1,303 @@
+package com.acme.bida.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load scenario against the full application on an embedded PostgreSQL. Each virtual
+ * user owns one AVAILABLE table of club 1 and repeats: login, list tables, occupy its table, place
+ * an order, close the bill (which frees the table again). After a warmup the run is measured for a
+ * fixed duration; throughput and p50/p99/p999 latency per step are written as JSON so CI can
+ * compare runs. Run with {@code ./gradlew loadTest}.
+ *
+ * <p>Arguments are {@code key=value}: {@code users} (default 8), {@code warmup} and
+ * {@code duration} in seconds (default 10 and 60), {@code output} (the report path).
+ */
+public final class LoadScenario {
+
+    enum Step {
+        LOGIN,
+        LIST_TABLES,
+        OCCUPY_TABLE,
+        PLACE_ORDER,
+        CLOSE_BILL
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final List<Long> productIds;
+
+    private LoadScenario(String baseUrl, List<Long> productIds) {
+        this.baseUrl = baseUrl;
+        this.productIds = productIds;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int requestedUsers = Integer.parseInt(options.getOrDefault("users", "8"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        Path output = Path.of(options.getOrDefault("output", "build/reports/load/load-scenario.json"));
+
+        Map<String, Object> report;
+        try (BenchmarkApplication application = BenchmarkApplication.start("access-log.enabled=false")) {
+            JdbcTemplate jdbcTemplate = application.bean(JdbcTemplate.class);
+            List<Long> tableIds = jdbcTemplate.queryForList(
+                    "SELECT id FROM tables WHERE club_id = 1 AND status = 'AVAILABLE' ORDER BY id", Long.class);
+            List<Long> productIds = jdbcTemplate.queryForList(
+                    "SELECT id FROM products WHERE club_id = 1 AND is_available ORDER BY id LIMIT 5", Long.class);
+            if (tableIds.isEmpty() || productIds.isEmpty()) {
+                throw new IllegalStateException("Seed data needs AVAILABLE tables and available products in club 1");
+            }
+            int users = Math.min(requestedUsers, tableIds.size());
+            if (users < requestedUsers) {
+                System.out.printf("Only %d free tables in club 1, running %d users%n", tableIds.size(), users);
+            }
+
+            LoadScenario scenario = new LoadScenario("http://localhost:" + application.port() + "/api/v1", productIds);
+            report = scenario.run(tableIds.subList(0, users), warmup, duration);
+        }
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+        System.out.printf("Load scenario report written to %s%n", output.toAbsolutePath());
+        System.exit(0);
+    }
+
+    private Map<String, Object> run(List<Long> tableIds, Duration warmup, Duration duration) throws InterruptedException {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+        List<VirtualUser> users = new ArrayList<>();
+        CountDownLatch finished = new CountDownLatch(tableIds.size());
+        for (Long tableId : tableIds) {
+            VirtualUser user = new VirtualUser(tableId, measureFrom, measureUntil);
+            users.add(user);
+            Thread thread = new Thread(() -> {
+                try {
+                    user.run();
+                } finally {
+                    finished.countDown();
+                }
+            }, "load-user-" + tableId);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        Instant startedAt = Instant.now();
+        finished.await(warmup.plus(duration).plusMinutes(2).toMillis(), TimeUnit.MILLISECONDS);
+
+        double seconds = duration.toNanos() / 1_000_000_000.0;
+        long iterations = users.stream().mapToLong(user -> user.iterations).sum();
+        Map<String, Object> steps = new LinkedHashMap<>();
+        for (Step step : Step.values()) {
+            long[] latencies = users.stream()
+                    .flatMapToLong(user -> Arrays.stream(user.latencies.get(step).toArray()))
+                    .sorted()
+                    .toArray();
+            long errors = users.stream().mapToLong(user -> user.errors.get(step)).sum();
+            steps.put(step.name().toLowerCase(), stepReport(latencies, errors, seconds));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", "login,list_tables,occupy_table,place_order,close_bill");
+        report.put("startedAt", startedAt.toString());
+        report.put("users", tableIds.size());
+        report.put("warmupSeconds", warmup.toSeconds());
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("iterations", iterations);
+        report.put("iterationsPerSecond", round(iterations / seconds));
+        report.put("steps", steps);
+        System.out.printf("%d users, %d scenario iterations (%.1f/s)%n", tableIds.size(), iterations, iterations / seconds);
+        steps.forEach((name, stats) -> System.out.printf("  %-13s %s%n", name, stats));
+        return report;
+    }
+
+    private static Map<String, Object> stepReport(long[] sortedNanos, long errors, double seconds) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("count", sortedNanos.length);
+        stats.put("errors", errors);
+        stats.put("throughputPerSecond", round(sortedNanos.length / seconds));
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("mean", round(Arrays.stream(sortedNanos).average().orElse(0) / 1_000_000.0));
+        latency.put("p50", millis(sortedNanos, 0.50));
+        latency.put("p99", millis(sortedNanos, 0.99));
+        latency.put("p999", millis(sortedNanos, 0.999));
+        latency.put("max", sortedNanos.length == 0 ? 0.0 : round(sortedNanos[sortedNanos.length - 1] / 1_000_000.0));
+        stats.put("latencyMillis", latency);
+        return stats;
+    }
+
+    /** Nearest-rank percentile. */
+    private static double millis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0.0;
+        }
+        int rank = (int) Math.ceil(percentile * sortedNanos.length);
+        return round(sortedNanos[Math.max(0, rank - 1)] / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private final class VirtualUser implements Runnable {
+        private final long tableId;
+        private final long measureFrom;
+        private final long measureUntil;
+        private final Map<Step, LongList> latencies = new EnumMap<>(Step.class);
+        private final Map<Step, Long> errors = new EnumMap<>(Step.class);
+        private long iterations;
+
+        private VirtualUser(long tableId, long measureFrom, long measureUntil) {
+            this.tableId = tableId;
+            this.measureFrom = measureFrom;
+            this.measureUntil = measureUntil;
+            for (Step step : Step.values()) {
+                latencies.put(step, new LongList());
+                errors.put(step, 0L);
+            }
+        }
+
+        @Override
+        public void run() {
+            String order = orderBody();
+            while (System.nanoTime() < measureUntil) {
+                boolean measured = System.nanoTime() >= measureFrom;
+                String login = call(Step.LOGIN, measured, post("/auth/login", null,
+                        "{\"username\":\"manager_d7\",\"password\":\"password123\"}"), 200);
+                if (login == null) {
+                    continue;
+                }
+                String token = accessToken(login);
+                boolean completed = call(Step.LIST_TABLES, measured, get("/tables?clubId=1", token), 200) != null
+                        && call(Step.OCCUPY_TABLE, measured, post("/tables/" + tableId + "/transitions", token,
+                                "{\"from\":\"AVAILABLE\",\"to\":\"OCCUPIED\"}"), 200) != null
+                        && call(Step.PLACE_ORDER, measured, post("/orders/bulk", token, order), 201) != null
+                        && call(Step.CLOSE_BILL, measured, post("/billing/tables/" + tableId + "/close", token, "{}"), 201) != null;
+                if (!completed) {
+                    // Free the table for the next round in case a step failed after occupying it
+                    send(post("/tables/" + tableId + "/transitions", token, "{\"from\":\"OCCUPIED\",\"to\":\"AVAILABLE\"}"));
+                } else if (measured) {
+                    iterations++;
+                }
+            }
+        }
+
+        private String call(Step step, boolean measured, HttpRequest request, int expectedStatus) {
+            long startNanos = System.nanoTime();
+            HttpResponse<String> response = send(request);
+            long elapsed = System.nanoTime() - startNanos;
+            boolean ok = response != null && response.statusCode() == expectedStatus;
+            if (measured) {
+                if (ok) {
+                    latencies.get(step).add(elapsed);
+                } else {
+                    errors.merge(step, 1L, Long::sum);
+                }
+            }
+            return ok ? response.body() : null;
+        }
+
+        private String orderBody() {
+            StringBuilder items = new StringBuilder();
+            for (int i = 0; i < productIds.size(); i++) {
+                if (i > 0) {
+                    items.append(',');
+                }
+                items.append("{\"productId\":").append(productIds.get(i)).append(",\"quantity\":").append(1 + i % 3).append('}');
+            }
+            return "{\"tableId\":" + tableId + ",\"orders\":[{\"items\":[" + items + "]}]}";
+        }
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String token, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private String accessToken(String loginBody) {
+        try {
+            JsonNode token = objectMapper.readTree(loginBody).get("accessToken");
+            return token != null ? token.asText() : "";
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    /** Growable primitive list, so recording a latency does not box. */
+    private static final class LongList {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.acme.bida.config;
+
+import com.acme.bida.bench.BenchmarkApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Platform against virtual request threads under {@code clients} concurrent connections. One
+ * operation fires a burst of {@code clients} simultaneous {@code GET /billing/bills/{id}} requests
+ * (one database query each) and waits for all of them, so the score is the time to drain the burst.
+ * Platform mode runs on Tomcat's 200 worker threads straight against the pool; virtual mode gives
+ * every connection its own virtual thread behind the database bulkhead. Failed responses (for
+ * example pool timeouts) are counted and printed per iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class VirtualThreadConcurrencyBenchmark {
+
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"1000"})
+    public int clients;
+
+    private BenchmarkApplication application;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private HttpRequest request;
+
+    private final AtomicLong failures = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void startApplication() throws Exception {
+        application = BenchmarkApplication.start(
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "server.tomcat.max-connections=" + (clients * 2),
+                "server.tomcat.accept-count=" + clients,
+                "access-log.enabled=false");
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+
+        String base = "http://localhost:" + application.port() + "/api/v1";
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(URI.create(base + "/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"manager_d7\",\"password\":\"password123\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = ACCESS_TOKEN.matcher(login.body());
+        if (login.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login failed with status " + login.statusCode());
+        }
+        Long billId = application.bean(JdbcTemplate.class)
+                .queryForObject("SELECT id FROM bills WHERE club_id = 1 ORDER BY id LIMIT 1", Long.class);
+        if (billId == null) {
+            throw new IllegalStateException("Seed data has no bills in club 1");
+        }
+        request = HttpRequest.newBuilder(URI.create(base + "/billing/bills/" + billId))
+                .header("Authorization", "Bearer " + matcher.group(1))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetFailures() {
+        failures.set(0);
+    }
+
+    @Benchmark
+    public int burst() {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        int ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            try {
+                if (response.join().statusCode() == 200) {
+                    ok++;
+                    continue;
+                }
+            } catch (RuntimeException e) {
+                // Connection refused or timed out; counted below
+            }
+            failures.incrementAndGet();
+        }
+        return ok;
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportFailures() {
+        System.out.printf("%n%d failed requests (virtual threads %s)%n", failures.get(), virtualThreads);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        application.close();
+        clientExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,156 @@
+package com.acme.bida.dto;
+
+import com.acme.bida.domain.entity.Bill;
+import com.acme.bida.domain.entity.Order;
+import com.acme.bida.domain.entity.Product;
+import com.acme.bida.domain.entity.Table;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of the payloads on the hot endpoints: the table list, a closed bill, placed orders,
+ * the login response and the menu, plus reading a bulk order request. The mapper is built the way
+ * Spring Boot builds it, with the {@code spring.jackson.*} settings from application.yml.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+public class JsonSerializationBenchmark {
+
+    @Param({"30"})
+    public int tables;
+
+    private ObjectMapper objectMapper;
+    private List<Table> tableEntities;
+    private List<TableStatusView> tableViews;
+    private Bill bill;
+    private List<Order> orders;
+    private LoginResponse loginResponse;
+    private List<MenuItemView> menu;
+    private byte[] bulkOrderJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .timeZone(TimeZone.getTimeZone("Asia/Ho_Chi_Minh"))
+                .dateFormat(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss"))
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 19, 30);
+        tableEntities = new ArrayList<>();
+        for (long id = 1; id <= tables; id++) {
+            Table table = new Table();
+            table.setId(id);
+            table.setClubId(1L);
+            table.setName("Table " + id);
+            table.setType(id % 3 == 0 ? Table.TableType.SNOOKER : Table.TableType.POOL_8_BALL);
+            table.setStatus(id % 2 == 0 ? Table.TableStatus.OCCUPIED : Table.TableStatus.AVAILABLE);
+            table.setHourlyRate(new BigDecimal("60000.00"));
+            table.setCreatedAt(now);
+            table.setUpdatedAt(now);
+            tableEntities.add(table);
+        }
+        tableViews = tableEntities.stream().map(TableStatusView::from).toList();
+
+        bill = Bill.builder()
+                .id(42L)
+                .tableId(1L)
+                .clubId(1L)
+                .companyId(1L)
+                .userId(5L)
+                .tableFee(new BigDecimal("120000.00"))
+                .totalAmount(new BigDecimal("245000.00"))
+                .status(Bill.BillStatus.PENDING)
+                .createdAt(now)
+                .build();
+
+        orders = new ArrayList<>();
+        for (long id = 1; id <= 4; id++) {
+            orders.add(Order.builder()
+                    .id(id)
+                    .tableId(1L)
+                    .clubId(1L)
+                    .companyId(1L)
+                    .userId(5L)
+                    .totalAmount(new BigDecimal("85000.00"))
+                    .status(Order.OrderStatus.PENDING)
+                    .createdAt(now)
+                    .build());
+        }
+
+        loginResponse = LoginResponse.builder()
+                .accessToken("eyJhbGciOiJIUzI1NiJ9." + "x".repeat(160) + ".signature")
+                .refreshToken("b3f1c2d4e5f6a7b8c9d0e1f2a3b4c5d6e7f8a9b0c1d2e3f4")
+                .expiresIn(86_400_000L)
+                .userInfo(LoginResponse.UserInfo.builder()
+                        .id(5L)
+                        .username("manager_d7")
+                        .email("manager_d7@example.com")
+                        .role("MANAGER")
+                        .companyId(1L)
+                        .clubId(1L)
+                        .build())
+                .build();
+
+        menu = new ArrayList<>();
+        for (long id = 1; id <= 40; id++) {
+            menu.add(new MenuItemView(id, "Product " + id, "A cold drink", Product.ProductCategory.BEVERAGE,
+                    new BigDecimal("25000.00")));
+        }
+
+        List<BulkOrderRequest.Line> lines = new ArrayList<>();
+        for (long productId = 1; productId <= 10; productId++) {
+            lines.add(new BulkOrderRequest.Line(productId, 2));
+        }
+        bulkOrderJson = objectMapper.writeValueAsBytes(
+                new BulkOrderRequest(1L, List.of(new BulkOrderRequest.OrderLines(lines))));
+    }
+
+    @Benchmark
+    public byte[] tableEntities() throws Exception {
+        return objectMapper.writeValueAsBytes(tableEntities);
+    }
+
+    @Benchmark
+    public byte[] tableStatusViews() throws Exception {
+        return objectMapper.writeValueAsBytes(tableViews);
+    }
+
+    @Benchmark
+    public byte[] bill() throws Exception {
+        return objectMapper.writeValueAsBytes(bill);
+    }
+
+    @Benchmark
+    public byte[] orders() throws Exception {
+        return objectMapper.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    public byte[] loginResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(loginResponse);
+    }
+
+    @Benchmark
+    public byte[] menu() throws Exception {
+        return objectMapper.writeValueAsBytes(menu);
+    }
+
+    @Benchmark
+    public BulkOrderRequest readBulkOrderRequest() throws Exception {
+        return objectMapper.readValue(bulkOrderJson, BulkOrderRequest.class);
+    }
+}
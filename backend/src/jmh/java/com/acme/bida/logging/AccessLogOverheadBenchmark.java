@@ -0,0 +1,119 @@
+package com.acme.bida.logging;
+
+import com.acme.bida.bench.BenchmarkApplication;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Per-request latency of an authenticated {@code GET /tables/sessions} (served from memory, so logging
+ * is a visible share of the request) under three logging setups:
+ * <ul>
+ *   <li>{@code OFF}: application logging at INFO and no access log, the baseline</li>
+ *   <li>{@code ACCESS_LOG}: the asynchronous access log keeping every request (sample rate 1.0)</li>
+ *   <li>{@code LEGACY_DEBUG}: the previous levels (application and Spring Security DEBUG, SQL DEBUG,
+ *   BasicBinder TRACE) written synchronously to a log file</li>
+ * </ul>
+ * The difference to {@code OFF} is the logging cost per request. Several threads issue requests so
+ * the writer thread and the ring buffer see contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class AccessLogOverheadBenchmark {
+
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+
+    public enum LogSetup {
+        OFF,
+        ACCESS_LOG,
+        LEGACY_DEBUG
+    }
+
+    @Param({"OFF", "ACCESS_LOG", "LEGACY_DEBUG"})
+    public LogSetup setup;
+
+    private Path logDirectory;
+    private BenchmarkApplication application;
+    private HttpClient client;
+    private HttpRequest tablesRequest;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws Exception {
+        logDirectory = Files.createTempDirectory("access-log-bench");
+        application = BenchmarkApplication.start(properties().toArray(String[]::new));
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        String base = "http://localhost:" + application.port() + "/api/v1";
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(URI.create(base + "/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"manager_d7\",\"password\":\"password123\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = ACCESS_TOKEN.matcher(login.body());
+        if (login.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login failed with status " + login.statusCode());
+        }
+        tablesRequest = HttpRequest.newBuilder(URI.create(base + "/tables/sessions?clubId=1"))
+                .header("Authorization", "Bearer " + matcher.group(1))
+                .GET()
+                .build();
+    }
+
+    private List<String> properties() {
+        List<String> properties = new ArrayList<>();
+        properties.add("access-log.enabled=" + (setup == LogSetup.ACCESS_LOG));
+        properties.add("access-log.file=" + logDirectory.resolve("access.log"));
+        properties.add("access-log.default-sample-rate=1.0");
+        properties.add("access-log.sample-rates=");
+        if (setup == LogSetup.LEGACY_DEBUG) {
+            properties.add("logging.file.name=" + logDirectory.resolve("application.log"));
+            properties.add("logging.pattern.console=");
+            properties.add("logging.level.com.acme.bida=DEBUG");
+            properties.add("logging.level.org.springframework.security=DEBUG");
+            properties.add("logging.level.org.hibernate.SQL=DEBUG");
+            properties.add("logging.level.org.hibernate.type.descriptor.sql.BasicBinder=TRACE");
+        }
+        return properties;
+    }
+
+    @Benchmark
+    public int runningSessions() throws Exception {
+        HttpResponse<Void> response = client.send(tablesRequest, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /tables/sessions returned " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws IOException {
+        application.close();
+        try (var files = Files.list(logDirectory)) {
+            files.forEach(file -> {
+                try {
+                    System.out.printf("%n%s: %d bytes%n", file.getFileName(), Files.size(file));
+                    Files.delete(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        Files.delete(logDirectory);
+    }
+}
@@ -0,0 +1,104 @@
+package com.acme.bida.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost on the request thread alone, without the HTTP round trip that dominates
+ * {@link AccessLogOverheadBenchmark}: sampling and enqueueing one {@link AccessLogEvent} against the
+ * two INFO lines the JWT filter used to write synchronously for every request, sent to a file
+ * appender with the application's console pattern. Each operation also burns {@code requestWork}
+ * CPU tokens to stand in for the request itself, which gives the writer thread time to drain as it
+ * would in production; subtract {@link #baseline} to get the logging overhead per request. The
+ * access log counters are printed at the end so drops are visible.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+public class AccessLogRecordBenchmark {
+
+    @Param({"20000"})
+    public long requestWork;
+
+    private Path directory;
+    private SimpleMeterRegistry meterRegistry;
+    private AccessLogWriter writer;
+    private AccessLogSampler sampler;
+    private LoggerContext loggerContext;
+    private Logger legacyLogger;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("access-log-record-bench");
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new AccessLogWriter(meterRegistry, true, directory.resolve("access.log"), 8192, 512, Duration.ofMillis(200));
+        writer.start();
+        sampler = new AccessLogSampler(1.0, "", Duration.ofSeconds(1));
+
+        loggerContext = new LoggerContext();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} - %msg%n");
+        encoder.start();
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(loggerContext);
+        appender.setFile(directory.resolve("application.log").toString());
+        appender.setEncoder(encoder);
+        appender.start();
+        legacyLogger = loggerContext.getLogger("com.acme.bida.auth.JwtAuthenticationFilter");
+        legacyLogger.addAppender(appender);
+    }
+
+    @Benchmark
+    public void baseline() {
+        Blackhole.consumeCPU(requestWork);
+    }
+
+    @Benchmark
+    public boolean asyncAccessLog() {
+        Blackhole.consumeCPU(requestWork);
+        long durationMicros = 850;
+        if (!sampler.shouldLog("/tables/sessions", 200, durationMicros)) {
+            return false;
+        }
+        return writer.submit(new AccessLogEvent(System.currentTimeMillis(), "GET", "/tables/sessions",
+                "/api/v1/tables/sessions", 200, durationMicros, 5L, "127.0.0.1"));
+    }
+
+    @Benchmark
+    public void legacySynchronousLog() {
+        Blackhole.consumeCPU(requestWork);
+        String requestURI = "/api/v1/tables/sessions";
+        legacyLogger.info("JWT Filter processing request: {} with auth header: {}", requestURI, "present");
+        legacyLogger.info("JWT token for user: {}", "manager_d7");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        writer.stop();
+        loggerContext.stop();
+        meterRegistry.find("access.log.events").counters().forEach(counter ->
+                System.out.printf("%naccess.log.events %s: %.0f", counter.getId().getTag("outcome"), counter.count()));
+        System.out.println();
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+}
@@ -0,0 +1,97 @@
+package com.acme.bida.service;
+
+import com.acme.bida.bench.BenchmarkApplication;
+import com.acme.bida.domain.entity.Product;
+import com.acme.bida.domain.entity.Table;
+import com.acme.bida.dto.BulkOrderRequest;
+import com.acme.bida.repository.ProductRepository;
+import com.acme.bida.repository.TableRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Places one table round of orders through {@link OrderService#placeBulk} with JDBC batching
+ * disabled ({@code batchSize=0}) and enabled. Latency is reported by JMH; after each iteration
+ * the number of JDBC statements Hibernate prepared per call (one per database round trip) is
+ * printed from the Hibernate statistics.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class BulkOrderPlacementBenchmark {
+
+    @Param({"0", "50"})
+    public int batchSize;
+
+    @Param({"1", "4"})
+    public int ordersPerCall;
+
+    @Param({"10"})
+    public int itemsPerOrder;
+
+    private BenchmarkApplication application;
+    private OrderService orderService;
+    private Statistics statistics;
+    private BulkOrderRequest request;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong statements = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        application = BenchmarkApplication.start(
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "spring.jpa.properties.hibernate.generate_statistics=true");
+        orderService = application.bean(OrderService.class);
+        statistics = application.bean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        Table table = application.bean(TableRepository.class).findByClubId(1L).get(0);
+        List<Product> products = application.bean(ProductRepository.class).findByClubIdAndIsAvailableTrue(1L);
+        if (products.isEmpty()) {
+            throw new IllegalStateException("Seed data has no available products in club 1");
+        }
+        List<BulkOrderRequest.OrderLines> orders = new ArrayList<>();
+        for (int o = 0; o < ordersPerCall; o++) {
+            List<BulkOrderRequest.Line> lines = new ArrayList<>();
+            for (int i = 0; i < itemsPerOrder; i++) {
+                lines.add(new BulkOrderRequest.Line(products.get(i % products.size()).getId(), 1 + i % 3));
+            }
+            orders.add(new BulkOrderRequest.OrderLines(lines));
+        }
+        request = new BulkOrderRequest(table.getId(), orders);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounters() {
+        calls.set(0);
+        statements.set(statistics.getPrepareStatementCount());
+    }
+
+    @Benchmark
+    public OrderPlacementResult placeBulk() {
+        calls.incrementAndGet();
+        return orderService.placeBulk(request, 1L);
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportRoundTrips() {
+        long prepared = statistics.getPrepareStatementCount() - statements.get();
+        System.out.printf("%n%.1f JDBC statements per call (%d orders x %d items, batch size %d)%n",
+                (double) prepared / Math.max(1, calls.get()), ordersPerCall, itemsPerOrder, batchSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        application.close();
+    }
+}
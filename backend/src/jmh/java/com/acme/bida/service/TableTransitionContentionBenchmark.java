@@ -0,0 +1,90 @@
+package com.acme.bida.service;
+
+import com.acme.bida.bench.BenchmarkApplication;
+import com.acme.bida.domain.entity.Table;
+import com.acme.bida.repository.TableRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Many threads race to occupy and release the same few tables through
+ * {@link TableService#transition}. Throughput is reported by JMH; after each iteration the
+ * number of OCCUPIED rows must equal successful occupies minus successful releases, otherwise
+ * an update was lost and the benchmark fails.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class TableTransitionContentionBenchmark {
+
+    private BenchmarkApplication application;
+    private TableService tableService;
+    private TableRepository tableRepository;
+    private long[] tableIds;
+
+    private final AtomicLong occupied = new AtomicLong();
+    private final AtomicLong released = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        application = BenchmarkApplication.start();
+        tableService = application.bean(TableService.class);
+        tableRepository = application.bean(TableRepository.class);
+        tableIds = tableRepository.findByClubIdAndStatus(1L, Table.TableStatus.AVAILABLE).stream()
+                .mapToLong(Table::getId)
+                .toArray();
+        if (tableIds.length == 0) {
+            throw new IllegalStateException("Seed data has no AVAILABLE tables in club 1");
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetTables() {
+        for (long id : tableIds) {
+            tableService.transition(id, Table.TableStatus.OCCUPIED, Table.TableStatus.AVAILABLE);
+        }
+        occupied.set(0);
+        released.set(0);
+    }
+
+    @Benchmark
+    public boolean occupyOrRelease() {
+        long tableId = tableIds[ThreadLocalRandom.current().nextInt(tableIds.length)];
+        if (ThreadLocalRandom.current().nextBoolean()) {
+            boolean applied = tableService.transition(tableId, Table.TableStatus.AVAILABLE, Table.TableStatus.OCCUPIED).applied();
+            if (applied) {
+                occupied.incrementAndGet();
+            }
+            return applied;
+        }
+        boolean applied = tableService.transition(tableId, Table.TableStatus.OCCUPIED, Table.TableStatus.AVAILABLE).applied();
+        if (applied) {
+            released.incrementAndGet();
+        }
+        return applied;
+    }
+
+    @TearDown(Level.Iteration)
+    public void verifyNoLostUpdates() {
+        List<Table> occupiedTables = tableRepository.findByClubIdAndStatus(1L, Table.TableStatus.OCCUPIED);
+        long expected = occupied.get() - released.get();
+        if (occupiedTables.size() != expected) {
+            throw new IllegalStateException("Lost update: " + occupiedTables.size()
+                    + " tables OCCUPIED but successful transitions imply " + expected);
+        }
+        System.out.printf("%n%d occupies and %d releases applied, %d tables OCCUPIED%n",
+                occupied.get(), released.get(), occupiedTables.size());
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        application.close();
+    }
+}
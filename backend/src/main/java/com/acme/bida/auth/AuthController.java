@@ -1,10 +1,14 @@
 package com.acme.bida.auth;
 
-import com.acme.bida.domain.entity.User;
+import com.acme.bida.config.PaginationConfig;
+import com.acme.bida.dto.KeysetPage;
 import com.acme.bida.dto.LoginRequest;
 import com.acme.bida.dto.LoginResponse;
+import com.acme.bida.dto.RefreshTokenRequest;
 import com.acme.bida.repository.UserRepository;
+import com.acme.bida.repository.projection.UserSummary;
 import com.acme.bida.service.AuthService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,11 +17,14 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/auth")
@@ -28,6 +35,9 @@ public class AuthController {
     
     private final AuthService authService;
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final PaginationConfig paginationConfig;
+    private final RefreshTokenService refreshTokenService;
     
     @PostMapping("/login")
     @Operation(
@@ -58,14 +68,66 @@ public class AuthController {
                 .orElse(ResponseEntity.status(401).build());
     }
     
+    @PostMapping("/refresh")
+    @Operation(
+        summary = "Refresh tokens",
+        description = "Exchange a refresh token for a new access token and a new refresh token. " +
+                "Each refresh token works once; reusing one logs out every session of the user."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Tokens rotated",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = LoginResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unknown, expired or reused refresh token"
+        )
+    })
+    public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return authService.refresh(request.getRefreshToken())
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(401).build());
+    }
+    
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revoke one refresh token")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        refreshTokenService.revoke(request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
+    
+    @PostMapping("/logout-all")
+    @Operation(summary = "Logout everywhere", description = "Revoke every refresh token and access token of the caller")
+    public ResponseEntity<Void> logoutAll(@AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        refreshTokenService.revokeAll(principal.id());
+        return ResponseEntity.noContent().build();
+    }
+    
     @GetMapping("/health")
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Auth service is running");
     }
     
     @GetMapping("/debug/users")
-    public ResponseEntity<List<User>> debugUsers() {
-        List<User> users = userRepository.findAll();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<KeysetPage<UserSummary>> debugUsers(@RequestParam(defaultValue = "0") Long after,
+                                                              @RequestParam(required = false) Integer limit) {
+        int pageSize = paginationConfig.resolveLimit(limit);
+        List<UserSummary> users = userRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(pageSize + 1));
+        return ResponseEntity.ok(KeysetPage.of(users, pageSize, UserSummary::getId));
+    }
+    
+    @GetMapping("/debug/principal-cache")
+    public ResponseEntity<Map<String, Long>> debugPrincipalCache() {
+        CacheStats stats = principalCache.stats();
+        return ResponseEntity.ok(Map.of(
+                "size", principalCache.size(),
+                "hits", stats.hitCount(),
+                "misses", stats.missCount(),
+                "evictions", stats.evictionCount()));
     }
 }
@@ -0,0 +1,37 @@
+package com.acme.bida.auth;
+
+import com.acme.bida.domain.entity.User;
+
+import java.security.Principal;
+
+/**
+ * Immutable snapshot of the fields the security layer needs for an authenticated user.
+ * Stored in {@link PrincipalCache} and used as the principal of the request's authentication.
+ */
+public record AuthenticatedPrincipal(
+        Long id,
+        String username,
+        User.UserRole role,
+        Long companyId,
+        Long clubId,
+        boolean active
+) implements Principal {
+
+    /** Request attribute holding the principal, readable after the security context has been cleared. */
+    public static final String REQUEST_ATTRIBUTE = AuthenticatedPrincipal.class.getName();
+
+    public static AuthenticatedPrincipal from(User user) {
+        return new AuthenticatedPrincipal(
+                user.getId(),
+                user.getUsername(),
+                user.getRole(),
+                user.getCompanyId(),
+                user.getClubId(),
+                Boolean.TRUE.equals(user.getIsActive()));
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -1,7 +1,5 @@
 package com.acme.bida.auth;
 
-import com.acme.bida.domain.entity.User;
-import com.acme.bida.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,7 +22,8 @@ import java.util.Collections;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -34,43 +33,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String authHeader = request.getHeader("Authorization");
         final String requestURI = request.getRequestURI();
         
-        log.info("JWT Filter processing request: {} with auth header: {}", requestURI, authHeader != null ? "present" : "null");
-        
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            log.info("No valid auth header found for request: {}", requestURI);
             filterChain.doFilter(request, response);
             return;
         }
         
         try {
             final String jwt = authHeader.substring(7);
-            final String username = jwtUtil.extractUsername(jwt);
-            
-            log.info("JWT token for user: {}", username);
+            final VerifiedToken token = jwtUtil.verify(jwt).orElse(null);
             
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                if (jwtUtil.validateToken(jwt)) {
-                    log.debug("JWT token is valid for user: {}", username);
-                    userRepository.findByUsername(username)
-                            .filter(User::getIsActive)
-                            .ifPresent(user -> {
-                                // Create authorities based on user role
-                                SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + user.getRole().name());
-                                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                                    username, null, Collections.singletonList(authority));
-                                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                                SecurityContextHolder.getContext().setAuthentication(authToken);
-                                log.debug("Authentication set for user: {} with role: {}", username, user.getRole());
-                            });
-                } else {
-                    log.debug("JWT token is invalid for user: {}", username);
-                }
+            if (token == null) {
+                log.debug("JWT token is invalid for request: {}", requestURI);
+            } else if (tokenRevocationRegistry.isRevoked(token.userId(), token.issuedAt())) {
+                log.debug("JWT token of user {} was revoked", token.subject());
+            } else if (token.subject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                final String username = token.subject();
+                log.trace("JWT token for user: {}", username);
+                principalCache.get(username)
+                        .filter(AuthenticatedPrincipal::active)
+                        .ifPresent(principal -> {
+                            // Create authorities based on user role
+                            SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + principal.role().name());
+                            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                                principal, null, Collections.singletonList(authority));
+                            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                            SecurityContextHolder.getContext().setAuthentication(authToken);
+                            request.setAttribute(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal);
+                            log.debug("Authentication set for user: {} with role: {}", username, principal.role());
+                        });
             } else {
-                log.debug("Username is null or authentication already exists for user: {}", username);
+                log.debug("Username is null or authentication already exists for user: {}", token.subject());
             }
         } catch (Exception e) {
-            log.error("Cannot set user authentication: {} for request: {}", e.getMessage(), requestURI);
-            e.printStackTrace();
+            log.error("Cannot set user authentication for request: {}", requestURI, e);
         }
         
         filterChain.doFilter(request, response);
@@ -2,26 +2,45 @@ package com.acme.bida.auth;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private final Long expiration;
 
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    // Key and parser are immutable and thread-safe, so both are built once per application
+    private final SecretKey signingKey;
 
-    @Value("${jwt.refresh-expiration}")
-    private Long refreshExpiration;
+    private final JwtParser parser;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    private final Timer validTimer;
+
+    private final Timer invalidTimer;
+
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.expiration}") Long expiration,
+                   MeterRegistry meterRegistry) {
+        this.expiration = expiration;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        // SLO buckets come from management.metrics.distribution.slo.auth.jwt.verification
+        this.validTimer = Timer.builder("auth.jwt.verification")
+                .tag("outcome", "valid")
+                .register(meterRegistry);
+        this.invalidTimer = Timer.builder("auth.jwt.verification")
+                .tag("outcome", "invalid")
+                .register(meterRegistry);
     }
 
     public String generateToken(String username, Long userId, String role) {
@@ -31,26 +50,39 @@ public class JwtUtil {
                 .claim("role", role)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String generateRefreshToken(String username, Long userId) {
-        return Jwts.builder()
-                .setSubject(username)
-                .claim("userId", userId)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + refreshExpiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+    /**
+     * Verifies the signature and expiry of a token and decodes its claims in a single parse.
+     * Returns empty for malformed, tampered or expired tokens.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        long startNanos = System.nanoTime();
+        Optional<VerifiedToken> verified = parse(token);
+        (verified.isPresent() ? validTimer : invalidTimer).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        return verified;
+    }
+
+    private Optional<VerifiedToken> parse(String token) {
+        try {
+            Claims claims = extractAllClaims(token);
+            Date issuedAt = claims.getIssuedAt();
+            Date expiresAt = claims.getExpiration();
+            return Optional.of(new VerifiedToken(
+                    claims.getSubject(),
+                    claims.get("userId", Long.class),
+                    claims.get("role", String.class),
+                    issuedAt != null ? issuedAt.toInstant() : null,
+                    expiresAt != null ? expiresAt.toInstant() : null));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public String extractUsername(String token) {
@@ -74,11 +106,7 @@ public class JwtUtil {
     }
 
     public Boolean validateToken(String token) {
-        try {
-            return !isTokenExpired(token);
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return verify(token).isPresent();
     }
     
     public Long getExpiration() {
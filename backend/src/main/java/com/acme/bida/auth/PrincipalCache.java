@@ -0,0 +1,66 @@
+package com.acme.bida.auth;
+
+import com.acme.bida.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded, TTL-based cache of {@link AuthenticatedPrincipal} snapshots keyed by username.
+ * Keeps the per-request user lookup in {@link JwtAuthenticationFilter} off the database.
+ * Entries must be invalidated whenever a user is created, deactivated or changes role.
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, AuthenticatedPrincipal> cache;
+
+    public PrincipalCache(UserRepository userRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${auth.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${auth.principal-cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principalCache");
+    }
+
+    public Optional<AuthenticatedPrincipal> get(String username) {
+        // Unknown usernames are not cached, so a later createUser is visible immediately
+        return Optional.ofNullable(cache.get(username, key -> userRepository.findByUsername(key)
+                .map(AuthenticatedPrincipal::from)
+                .orElse(null)));
+    }
+
+    public void invalidate(String username) {
+        if (username != null) {
+            cache.invalidate(username);
+            log.debug("Principal cache entry invalidated for user: {}", username);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
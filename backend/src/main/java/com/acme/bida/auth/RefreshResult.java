@@ -0,0 +1,19 @@
+package com.acme.bida.auth;
+
+/**
+ * Outcome of presenting a refresh token; {@code userId} and the replacement
+ * {@code refreshToken} are set when it was ROTATED.
+ */
+public record RefreshResult(Outcome outcome, Long userId, String refreshToken) {
+
+    public enum Outcome {
+        ROTATED,
+        INVALID,
+        EXPIRED,
+        REUSED
+    }
+
+    public static RefreshResult of(Outcome outcome) {
+        return new RefreshResult(outcome, null, null);
+    }
+}
@@ -0,0 +1,129 @@
+package com.acme.bida.auth;
+
+import com.acme.bida.domain.entity.RefreshToken;
+import com.acme.bida.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Opaque, single-use refresh tokens. Clients get 256 random bits; only a SHA-256 digest is
+ * stored, which is safe for high-entropy secrets and costs microseconds instead of a BCrypt round.
+ * Presenting an already rotated token is treated as theft: every refresh token of the user is
+ * deleted and their outstanding access tokens are revoked.
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+    
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final long refreshExpirationMillis;
+    private final int purgeBatchSize;
+    
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               TokenRevocationRegistry tokenRevocationRegistry,
+                               JdbcTemplate jdbcTemplate,
+                               @Value("${jwt.refresh-expiration}") long refreshExpirationMillis,
+                               @Value("${auth.refresh-token.purge-batch-size:1000}") int purgeBatchSize) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.jdbcTemplate = jdbcTemplate;
+        this.refreshExpirationMillis = refreshExpirationMillis;
+        this.purgeBatchSize = Math.max(1, purgeBatchSize);
+    }
+    
+    /** Stores a new refresh token for the user and returns the raw value for the client. */
+    @Transactional
+    public String issue(Long userId) {
+        byte[] secret = new byte[32];
+        RANDOM.nextBytes(secret);
+        String raw = ENCODER.encodeToString(secret);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .userId(userId)
+                .token(digest(raw))
+                .expiresAt(LocalDateTime.now().plus(Duration.ofMillis(refreshExpirationMillis)))
+                .build());
+        return raw;
+    }
+    
+    @Transactional
+    public RefreshResult rotate(String raw) {
+        Optional<RefreshToken> stored = refreshTokenRepository.findByToken(digest(raw));
+        if (stored.isEmpty()) {
+            return RefreshResult.of(RefreshResult.Outcome.INVALID);
+        }
+        RefreshToken token = stored.get();
+        if (token.getExpiresAt().isBefore(LocalDateTime.now())) {
+            return RefreshResult.of(RefreshResult.Outcome.EXPIRED);
+        }
+        if (refreshTokenRepository.markUsed(token.getId(), LocalDateTime.now()) == 0) {
+            log.warn("Refresh token {} of user {} was reused; revoking all sessions", token.getId(), token.getUserId());
+            revokeAll(token.getUserId());
+            return RefreshResult.of(RefreshResult.Outcome.REUSED);
+        }
+        return new RefreshResult(RefreshResult.Outcome.ROTATED, token.getUserId(), issue(token.getUserId()));
+    }
+    
+    /** Logs out one session. */
+    @Transactional
+    public void revoke(String raw) {
+        refreshTokenRepository.findByToken(digest(raw)).ifPresent(refreshTokenRepository::delete);
+    }
+    
+    /** Logs out every session of the user, including access tokens already handed out. */
+    @Transactional
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+        tokenRevocationRegistry.revokeAll(userId);
+    }
+    
+    /**
+     * Deletes expired rows in bounded batches, each in its own short transaction, so the purge
+     * never holds many row locks or blocks logins. Plain JDBC keeps Hibernate from evicting the
+     * second-level cache, which it does after any native modifying query.
+     */
+    @Scheduled(fixedDelayString = "${auth.refresh-token.purge-interval:PT10M}")
+    public int purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(
+                    "DELETE FROM refresh_tokens WHERE id IN " +
+                    "(SELECT id FROM refresh_tokens WHERE expires_at < ? ORDER BY expires_at LIMIT ?)",
+                    cutoff, purgeBatchSize);
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+        if (total > 0) {
+            log.info("Purged {} expired refresh token(s)", total);
+        }
+        return total;
+    }
+    
+    static String digest(String raw) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.acme.bida.auth;
+
+import com.acme.bida.domain.entity.TokenRevocation;
+import com.acme.bida.repository.TokenRevocationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user "revoked before" instants checked by {@link JwtAuthenticationFilter} on every request
+ * with a map lookup. Persisted in {@code token_revocations} so revocations survive a restart, and
+ * forgotten once every access token issued before them has expired.
+ * <p>
+ * JWT {@code iat} has second precision, so a token issued in the same second as the revocation
+ * is still accepted.
+ */
+@Component
+@Slf4j
+public class TokenRevocationRegistry {
+    
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final long accessTokenLifetimeMillis;
+    private final Map<Long, Instant> revokedBefore = new ConcurrentHashMap<>();
+    
+    public TokenRevocationRegistry(TokenRevocationRepository tokenRevocationRepository,
+                                   @Value("${jwt.expiration}") long accessTokenLifetimeMillis) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.accessTokenLifetimeMillis = accessTokenLifetimeMillis;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        tokenRevocationRepository.findAll().forEach(revocation ->
+                revokedBefore.merge(revocation.getUserId(), toInstant(revocation.getRevokedBefore()), TokenRevocationRegistry::later));
+        log.info("Loaded {} access token revocation(s)", revokedBefore.size());
+    }
+    
+    public boolean isRevoked(Long userId, Instant issuedAt) {
+        if (userId == null) {
+            return false;
+        }
+        Instant cutoff = revokedBefore.get(userId);
+        return cutoff != null && (issuedAt == null || issuedAt.isBefore(cutoff));
+    }
+    
+    /** Rejects every access token issued to the user until now. */
+    @Transactional
+    public void revokeAll(Long userId) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        tokenRevocationRepository.save(new TokenRevocation(userId, LocalDateTime.ofInstant(now, ZoneId.systemDefault())));
+        revokedBefore.merge(userId, now, TokenRevocationRegistry::later);
+        log.info("Access tokens of user {} issued before {} revoked", userId, now);
+    }
+    
+    @Scheduled(fixedDelayString = "${auth.refresh-token.purge-interval:PT10M}")
+    @Transactional
+    public void forgetExpired() {
+        Instant cutoff = Instant.now().minusMillis(accessTokenLifetimeMillis);
+        revokedBefore.values().removeIf(instant -> instant.isBefore(cutoff));
+        tokenRevocationRepository.deleteOlderThan(LocalDateTime.ofInstant(cutoff, ZoneId.systemDefault()));
+    }
+    
+    public int size() {
+        return revokedBefore.size();
+    }
+    
+    private static Instant toInstant(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant();
+    }
+    
+    private static Instant later(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -0,0 +1,16 @@
+package com.acme.bida.auth;
+
+import java.time.Instant;
+
+/**
+ * Result of verifying and decoding an access token exactly once.
+ * Produced by {@link JwtUtil#verify(String)}.
+ */
+public record VerifiedToken(
+        String subject,
+        Long userId,
+        String role,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+}
@@ -0,0 +1,165 @@
+package com.acme.bida.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets at most {@code maxConcurrency} threads hold a connection at once; the rest wait in FIFO
+ * order on a semaphore before they reach the pool. With virtual threads thousands of requests can
+ * be in flight, and parking them here is cheap, bounded by {@code maxWait} and visible in metrics,
+ * whereas letting all of them spin on the HikariCP pool produces timeouts in bursts. A permit is
+ * held from {@link #getConnection()} until the connection is closed (returned to the pool).
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final long maxWaitNanos;
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    public BulkheadDataSource(DataSource target, int maxConcurrency, Duration maxWait) {
+        super(target);
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquirePermit();
+        try {
+            return guarded(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquirePermit();
+        try {
+            return guarded(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    public long getAcquiredCount() {
+        return acquired.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public double getWaitSeconds() {
+        return waitNanos.sum() / 1_000_000_000.0;
+    }
+
+    private void acquirePermit() throws SQLException {
+        if (permits.tryAcquire()) {
+            acquired.increment();
+            return;
+        }
+        long startNanos = System.nanoTime();
+        boolean granted;
+        try {
+            granted = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database permit", e);
+        } finally {
+            waitNanos.add(System.nanoTime() - startNanos);
+        }
+        if (!granted) {
+            rejected.increment();
+            throw new SQLTransientConnectionException("Database bulkhead full: " + maxConcurrency
+                    + " connections in use and no permit within " + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + " ms");
+        }
+        acquired.increment();
+    }
+
+    private Connection guarded(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new PermitReleasingHandler(connection));
+    }
+
+    /**
+     * Returns the permit the first time the connection is closed.
+     */
+    private final class PermitReleasingHandler implements InvocationHandler {
+        private final Connection target;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PermitReleasingHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    try {
+                        target.close();
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                    return null;
+                }
+                case "isWrapperFor" -> {
+                    return ((Class<?>) args[0]).isInstance(proxy) || target.isWrapperFor((Class<?>) args[0]);
+                }
+                case "unwrap" -> {
+                    return ((Class<?>) args[0]).isInstance(proxy) ? proxy : target.unwrap((Class<?>) args[0]);
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Bulkhead[" + target + "]";
+                }
+                default -> {
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                }
+            }
+        }
+    }
+}
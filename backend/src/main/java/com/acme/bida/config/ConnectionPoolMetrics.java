@@ -0,0 +1,84 @@
+package com.acme.bida.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Saturation of the HikariCP pool on top of the raw {@code hikaricp.connections.*} meters that
+ * Spring Boot already binds: the share of connections in use and the number of threads waiting per
+ * available connection. Both are 0 until the pool has started. When the {@link BulkheadDataSource}
+ * is active its queue length, free permits, rejections and total wait time are exported as well.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConnectionPoolMetrics implements MeterBinder {
+    
+    private final DataSource dataSource;
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindBulkhead(registry);
+        HikariDataSource hikari;
+        try {
+            hikari = dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            return;
+        }
+        Gauge.builder("db.pool.utilization", hikari, ConnectionPoolMetrics::utilization)
+                .tag("pool", String.valueOf(hikari.getPoolName()))
+                .description("Active connections over the maximum pool size")
+                .register(registry);
+        Gauge.builder("db.pool.saturation", hikari, ConnectionPoolMetrics::saturation)
+                .tag("pool", String.valueOf(hikari.getPoolName()))
+                .description("Threads waiting for a connection per connection in the pool; above 0 means requests queue")
+                .register(registry);
+    }
+    
+    private void bindBulkhead(MeterRegistry registry) {
+        BulkheadDataSource bulkhead;
+        try {
+            if (!dataSource.isWrapperFor(BulkheadDataSource.class)) {
+                return;
+            }
+            bulkhead = dataSource.unwrap(BulkheadDataSource.class);
+        } catch (SQLException e) {
+            return;
+        }
+        Gauge.builder("db.bulkhead.waiting", bulkhead, BulkheadDataSource::getQueueLength)
+                .description("Threads queued for a database permit")
+                .register(registry);
+        Gauge.builder("db.bulkhead.available", bulkhead, BulkheadDataSource::getAvailablePermits)
+                .register(registry);
+        FunctionCounter.builder("db.bulkhead.permits", bulkhead, BulkheadDataSource::getAcquiredCount)
+                .tag("outcome", "acquired")
+                .register(registry);
+        FunctionCounter.builder("db.bulkhead.permits", bulkhead, BulkheadDataSource::getRejectedCount)
+                .tag("outcome", "rejected")
+                .register(registry);
+        FunctionCounter.builder("db.bulkhead.wait", bulkhead, BulkheadDataSource::getWaitSeconds)
+                .baseUnit("seconds")
+                .description("Total time spent waiting for a permit")
+                .register(registry);
+    }
+    
+    private static double utilization(HikariDataSource hikari) {
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        int max = hikari.getMaximumPoolSize();
+        return pool == null || max <= 0 ? 0.0 : (double) pool.getActiveConnections() / max;
+    }
+    
+    private static double saturation(HikariDataSource hikari) {
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        int max = hikari.getMaximumPoolSize();
+        return pool == null || max <= 0 ? 0.0 : (double) pool.getThreadsAwaitingConnection() / max;
+    }
+}
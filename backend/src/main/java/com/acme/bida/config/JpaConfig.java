@@ -1,10 +1,18 @@
 package com.acme.bida.config;
 
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.security.data.repository.query.SecurityEvaluationContextExtension;
 
 @Configuration
 @EnableJpaAuditing
 public class JpaConfig {
     // JPA auditing is enabled for @CreatedDate and @LastModifiedDate annotations
+    
+    // Exposes the authenticated principal to @Query SpEL, used by TenantScopedRepository
+    @Bean
+    public SecurityEvaluationContextExtension securityEvaluationContextExtension() {
+        return new SecurityEvaluationContextExtension();
+    }
 }
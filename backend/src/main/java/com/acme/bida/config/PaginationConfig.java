@@ -0,0 +1,27 @@
+package com.acme.bida.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Page size limits shared by all keyset-paginated listings.
+ */
+@Component
+public class PaginationConfig {
+
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public PaginationConfig(@Value("${api.pagination.default-page-size:50}") int defaultPageSize,
+                            @Value("${api.pagination.max-page-size:200}") int maxPageSize) {
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    public int resolveLimit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
+    }
+}
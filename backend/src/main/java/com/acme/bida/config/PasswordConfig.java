@@ -1,5 +1,6 @@
 package com.acme.bida.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -9,7 +10,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class PasswordConfig {
     
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.password-hashing.bcrypt-strength:10}") int strength) {
+        // Existing hashes below this strength are upgraded on the next successful login
+        return new BCryptPasswordEncoder(strength);
     }
 }
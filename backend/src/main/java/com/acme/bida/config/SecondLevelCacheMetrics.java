@@ -0,0 +1,50 @@
+package com.acme.bida.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exports hits, misses, puts and the hit ratio of every Hibernate second-level cache region,
+ * tagged by region name.
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheMetrics implements MeterBinder {
+    
+    private final EntityManagerFactory entityManagerFactory;
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics stats = statistics.getDomainDataRegionStatistics(region);
+            FunctionCounter.builder("hibernate.second.level.cache.requests", stats, CacheRegionStatistics::getHitCount)
+                    .tags("region", region, "result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("hibernate.second.level.cache.requests", stats, CacheRegionStatistics::getMissCount)
+                    .tags("region", region, "result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("hibernate.second.level.cache.puts", stats, CacheRegionStatistics::getPutCount)
+                    .tags("region", region)
+                    .register(registry);
+            Gauge.builder("hibernate.second.level.cache.hit.ratio", stats, SecondLevelCacheMetrics::hitRatio)
+                    .tags("region", region)
+                    .description("Hits over lookups since startup")
+                    .register(registry);
+        }
+    }
+    
+    private static double hitRatio(CacheRegionStatistics stats) {
+        long hits = stats.getHitCount();
+        long lookups = hits + stats.getMissCount();
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+}
@@ -4,19 +4,24 @@ import com.acme.bida.auth.JwtAuthenticationFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import java.util.Arrays;
 
@@ -29,6 +34,35 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthFilter;
     
+    /**
+     * Prometheus scrapes with HTTP basic auth as a dedicated scrape user, since the metrics carry
+     * company and club tags. Without a configured password the endpoint refuses every request.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain metricsScrapeFilterChain(HttpSecurity http,
+                                                        PasswordEncoder passwordEncoder,
+                                                        @Value("${metrics.scrape.username:prometheus}") String username,
+                                                        @Value("${metrics.scrape.password:}") String password) throws Exception {
+        http
+            .securityMatcher("/actuator/prometheus")
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+        if (password.isBlank()) {
+            log.warn("metrics.scrape.password is not set; /actuator/prometheus rejects every request");
+            http.authorizeHttpRequests(authz -> authz.anyRequest().denyAll());
+            return http.build();
+        }
+        http
+            .authorizeHttpRequests(authz -> authz.anyRequest().hasRole("METRICS_SCRAPER"))
+            .httpBasic(basic -> { })
+            .userDetailsService(new InMemoryUserDetailsManager(User.withUsername(username)
+                    .password(passwordEncoder.encode(password))
+                    .roles("METRICS_SCRAPER")
+                    .build()));
+        return http.build();
+    }
+    
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         log.info("Configuring security filter chain");
@@ -38,15 +72,28 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
+                // Completion of async responses (SSE feeds) and error pages of sendError; the original
+                // request was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                 // Public endpoints (without context path since Spring handles it internally)
                 .requestMatchers("/auth/login").permitAll()
                 .requestMatchers("/auth/register").permitAll()
+                .requestMatchers("/auth/refresh").permitAll()
+                .requestMatchers("/auth/logout").permitAll()
                 .requestMatchers("/health").permitAll()
                 .requestMatchers("/simple/**").permitAll()
                 .requestMatchers("/auth/health").permitAll()
                 .requestMatchers("/swagger-ui/**").permitAll()
                 .requestMatchers("/api-docs/**").permitAll()
                 .requestMatchers("/v3/api-docs/**").permitAll()
+                // Probes; the Prometheus scrape has its own chain above, the other actuator endpoints need a login
+                .requestMatchers("/actuator/health").permitAll()
+                // STOMP handshake; the CONNECT frame is authenticated by StompAuthChannelInterceptor
+                .requestMatchers("/ws/**").permitAll()
+                // Provider callbacks; PaymentWebhookService checks the HMAC signature of the body
+                .requestMatchers("/payments/webhooks/**").permitAll()
+                // Stand-in accounting system, only mapped when accounting.stub.enabled is set
+                .requestMatchers("/accounting-stub/**").permitAll()
                 
                 // Test utilities - MUST come before more general patterns
                 .requestMatchers("/users/test/hash").permitAll()
@@ -62,8 +109,12 @@ public class SecurityConfig {
                 .requestMatchers("/tables/**").authenticated()
                 .requestMatchers("/bookings/**").authenticated()
                 .requestMatchers("/orders/**").authenticated()
+                .requestMatchers("/products/**").authenticated()
                 .requestMatchers("/billing/**").authenticated()
                 .requestMatchers("/loyalty/**").authenticated()
+                .requestMatchers("/exports/**").authenticated()
+                .requestMatchers("/payments/**").authenticated()
+                .requestMatchers("/accounting/**").authenticated()
                 
                 // Default - require authentication
                 .anyRequest().authenticated()
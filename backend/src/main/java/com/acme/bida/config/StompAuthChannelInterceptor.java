@@ -0,0 +1,88 @@
+package com.acme.bida.config;
+
+import com.acme.bida.auth.AuthenticatedPrincipal;
+import com.acme.bida.auth.JwtUtil;
+import com.acme.bida.auth.PrincipalCache;
+import com.acme.bida.auth.TokenRevocationRegistry;
+import com.acme.bida.auth.VerifiedToken;
+import com.acme.bida.service.TenantKeyResolver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Authenticates STOMP sessions from the {@code Authorization} header of the CONNECT frame and
+ * only lets users subscribe to the table feeds of clubs they belong to.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final Pattern CLUB_DESTINATION = Pattern.compile("^/(?:topic|app)/clubs/(\\d+)/.*$");
+
+    private final JwtUtil jwtUtil;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final TenantKeyResolver tenantKeyResolver;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            accessor.setUser(authenticate(accessor.getFirstNativeHeader("Authorization")));
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            authorizeSubscription(accessor);
+        }
+        return message;
+    }
+
+    private UsernamePasswordAuthenticationToken authenticate(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw new AccessDeniedException("Missing bearer token");
+        }
+        AuthenticatedPrincipal principal = jwtUtil.verify(authHeader.substring(7))
+                .filter(token -> !tokenRevocationRegistry.isRevoked(token.userId(), token.issuedAt()))
+                .map(VerifiedToken::subject)
+                .flatMap(principalCache::get)
+                .filter(AuthenticatedPrincipal::active)
+                .orElseThrow(() -> new AccessDeniedException("Invalid bearer token"));
+        return new UsernamePasswordAuthenticationToken(principal, null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + principal.role().name())));
+    }
+
+    private void authorizeSubscription(StompHeaderAccessor accessor) {
+        if (!(accessor.getUser() instanceof UsernamePasswordAuthenticationToken authentication)
+                || !(authentication.getPrincipal() instanceof AuthenticatedPrincipal principal)) {
+            throw new AccessDeniedException("Not authenticated");
+        }
+        String destination = accessor.getDestination();
+        Matcher matcher = destination != null ? CLUB_DESTINATION.matcher(destination) : null;
+        if (matcher == null || !matcher.matches()) {
+            return;
+        }
+
+        Long clubId = Long.valueOf(matcher.group(1));
+        if (!tenantKeyResolver.canAccess(principal, clubId)) {
+            log.warn("User {} denied subscription to {}", principal.username(), destination);
+            throw new AccessDeniedException("No access to club " + clubId);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.acme.bida.config;
+
+import com.acme.bida.auth.AuthenticatedPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts requests per company and club as {@code tenant.requests}, tagged with an outcome of
+ * success, client_error or server_error. Only the first {@code metrics.tenant.max-companies}
+ * companies and {@code metrics.tenant.max-clubs} clubs seen get their own tag value; later ones are
+ * reported as "other", so the number of series stays bounded however many tenants sign up.
+ * Unauthenticated requests use "none".
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@Slf4j
+public class TenantRequestMetricsFilter extends OncePerRequestFilter {
+    
+    static final String NONE = "none";
+    static final String OTHER = "other";
+    
+    private final MeterRegistry meterRegistry;
+    private final TagLimit companies;
+    private final TagLimit clubs;
+    private final Map<CounterKey, Counter> counters = new ConcurrentHashMap<>();
+    
+    public TenantRequestMetricsFilter(MeterRegistry meterRegistry,
+                                      @Value("${metrics.tenant.max-companies:50}") int maxCompanies,
+                                      @Value("${metrics.tenant.max-clubs:200}") int maxClubs) {
+        this.meterRegistry = meterRegistry;
+        this.companies = new TagLimit("company", maxCompanies);
+        this.clubs = new TagLimit("club", maxClubs);
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            filterChain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            AuthenticatedPrincipal principal = request.getAttribute(AuthenticatedPrincipal.REQUEST_ATTRIBUTE) instanceof AuthenticatedPrincipal p
+                    ? p
+                    : null;
+            String company = principal == null ? NONE : companies.tagValue(principal.companyId());
+            String club = principal == null ? NONE : clubs.tagValue(principal.clubId());
+            counters.computeIfAbsent(new CounterKey(company, club, outcome(status)), this::register).increment();
+        }
+    }
+    
+    private Counter register(CounterKey key) {
+        return Counter.builder("tenant.requests")
+                .tags("company", key.company(), "club", key.club(), "outcome", key.outcome())
+                .register(meterRegistry);
+    }
+    
+    private static String outcome(int status) {
+        if (status >= 500) {
+            return "server_error";
+        }
+        return status >= 400 ? "client_error" : "success";
+    }
+    
+    private record CounterKey(String company, String club, String outcome) {
+    }
+    
+    /**
+     * Admits tag values first come, first served up to a fixed number.
+     */
+    private static final class TagLimit {
+        private final String name;
+        private final int max;
+        private final Set<Long> admitted = ConcurrentHashMap.newKeySet();
+        private volatile boolean warned;
+        
+        private TagLimit(String name, int max) {
+            this.name = name;
+            this.max = max;
+        }
+        
+        String tagValue(Long id) {
+            if (id == null) {
+                return NONE;
+            }
+            if (admitted.contains(id)) {
+                return id.toString();
+            }
+            synchronized (this) {
+                if (admitted.contains(id) || admitted.size() < max) {
+                    admitted.add(id);
+                    return id.toString();
+                }
+            }
+            if (!warned) {
+                warned = true;
+                log.warn("More than {} distinct {} values; further ones are counted as '{}'", max, name, OTHER);
+            }
+            return OTHER;
+        }
+    }
+}
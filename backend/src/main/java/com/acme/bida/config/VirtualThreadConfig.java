@@ -0,0 +1,50 @@
+package com.acme.bida.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Support for {@code spring.threads.virtual.enabled}: with it on, Spring Boot runs Tomcat requests
+ * and {@code @Scheduled} work on virtual threads, and the database bulkhead below
+ * (on by default in that mode) caps concurrent connection use at the HikariCP pool size.
+ * {@link VirtualThreadPinningMonitor} reports virtual threads pinned to their carrier.
+ */
+@Configuration
+@Slf4j
+public class VirtualThreadConfig {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    @ConditionalOnProperty(name = "database.bulkhead.enabled", havingValue = "true")
+    public static BeanPostProcessor databaseBulkheadPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource) {
+                    return bean;
+                }
+                int configured = environment.getProperty("database.bulkhead.max-concurrency", Integer.class, 0);
+                int maxConcurrency = configured > 0 ? configured : poolSize(dataSource);
+                Duration maxWait = environment.getProperty("database.bulkhead.max-wait", Duration.class, Duration.ofSeconds(30));
+                log.info("Database bulkhead on {} allows {} concurrent connections, waiting up to {}", beanName, maxConcurrency, maxWait);
+                return new BulkheadDataSource(dataSource, maxConcurrency, maxWait);
+            }
+        };
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        // Spring Boot binds spring.datasource.hikari.* before this post-processor runs; an unset size
+        // stays -1 until the pool starts and then becomes Hikari's default
+        int size = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : -1;
+        return size > 0 ? size : DEFAULT_POOL_SIZE;
+    }
+}
@@ -0,0 +1,100 @@
+package com.acme.bida.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event, raised when a virtual thread blocks while
+ * pinned to its carrier (inside {@code synchronized} or a native frame) for longer than the
+ * threshold. Each pin is recorded in the {@code jvm.threads.virtual.pinned} timer, and the first
+ * pin at each application call site is logged with its stack, so the offending monitor can be
+ * replaced with a {@code ReentrantLock}.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_REPORTED_SITES = 100;
+
+    private final Duration threshold;
+    private final Timer pinnedTimer;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${virtual-threads.pinning.threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+        this.pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent blocked while pinned to a carrier thread")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        stream = recording;
+        log.info("Watching for virtual threads pinned longer than {}", threshold);
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return;
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        String site = frames.stream()
+                .filter(frame -> frame.getMethod().getType().getName().startsWith("com.acme.bida."))
+                .findFirst()
+                .or(() -> frames.stream()
+                        .filter(frame -> !frame.getMethod().getType().getName().startsWith("java.")
+                                && !frame.getMethod().getType().getName().startsWith("jdk."))
+                        .findFirst())
+                .map(VirtualThreadPinningMonitor::describe)
+                .orElse("unknown");
+        if (reportedSites.size() < MAX_REPORTED_SITES && reportedSites.add(site)) {
+            log.warn("Virtual thread pinned for {} ms at {}:\n\t{}", event.getDuration().toMillis(), site,
+                    frames.stream().limit(20).map(VirtualThreadPinningMonitor::describe).collect(Collectors.joining("\n\t")));
+        }
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,62 @@
+package com.acme.bida.controller;
+
+import com.acme.bida.auth.AuthenticatedPrincipal;
+import com.acme.bida.config.PaginationConfig;
+import com.acme.bida.domain.entity.User;
+import com.acme.bida.dto.InvoiceExportView;
+import com.acme.bida.dto.KeysetPage;
+import com.acme.bida.repository.InvoiceExportRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/accounting")
+@RequiredArgsConstructor
+@Slf4j
+public class AccountingController {
+    
+    private static final Set<String> STATUSES = Set.of("PENDING", "SENDING", "RETRY", "SENT", "REJECTED", "DEAD", "CANCELLED");
+    
+    private final InvoiceExportRepository invoiceExportRepository;
+    private final PaginationConfig paginationConfig;
+    
+    // Invoice exports of the caller's company, e.g. ?status=DEAD or ?status=REJECTED
+    @GetMapping("/exports")
+    public ResponseEntity<KeysetPage<InvoiceExportView>> getExports(@RequestParam(defaultValue = "DEAD") String status,
+                                                                    @RequestParam(defaultValue = "0") Long after,
+                                                                    @RequestParam(required = false) Integer limit,
+                                                                    @AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        if (!isCompanyOwner(principal)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (!STATUSES.contains(status)) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = paginationConfig.resolveLimit(limit);
+        List<InvoiceExportView> exports = invoiceExportRepository.findByStatus(status, principal.companyId(), after, pageSize + 1);
+        return ResponseEntity.ok(KeysetPage.of(exports, pageSize, InvoiceExportView::getId));
+    }
+    
+    @PostMapping("/exports/{id}/retry")
+    public ResponseEntity<Void> retryExport(@PathVariable Long id,
+                                            @AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        if (!isCompanyOwner(principal)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (invoiceExportRepository.requeue(id, principal.companyId()) == 0) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.accepted().build();
+    }
+    
+    private static boolean isCompanyOwner(AuthenticatedPrincipal principal) {
+        return principal.role() == User.UserRole.OWNER && principal.companyId() != null;
+    }
+}
@@ -0,0 +1,35 @@
+package com.acme.bida.controller;
+
+import com.acme.bida.dto.InvoiceBatchRequest;
+import com.acme.bida.service.AccountingSystemStub;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+// Stand-in accounting system for HttpAccountingService; only mapped with accounting.stub.enabled
+@RestController
+@RequestMapping("/accounting-stub")
+@ConditionalOnProperty(name = "accounting.stub.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class AccountingStubController {
+    
+    private final AccountingSystemStub accountingSystemStub;
+    
+    @PostMapping("/companies/{companyId}/invoices")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> receiveInvoices(@PathVariable Long companyId,
+                                                                                  @RequestBody InvoiceBatchRequest request) throws InterruptedException {
+        return accountingSystemStub.receive(companyId, request.getInvoices() != null ? request.getInvoices() : List.of())
+                .map(results -> ResponseEntity.ok(Map.of("results", results)))
+                .orElse(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+    
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> stats() {
+        return ResponseEntity.ok(accountingSystemStub.stats());
+    }
+}
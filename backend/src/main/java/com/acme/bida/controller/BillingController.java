@@ -0,0 +1,127 @@
+package com.acme.bida.controller;
+
+import com.acme.bida.auth.AuthenticatedPrincipal;
+import com.acme.bida.domain.entity.Bill;
+import com.acme.bida.domain.entity.User;
+import com.acme.bida.dto.CloseBillRequest;
+import com.acme.bida.dto.PayBillRequest;
+import com.acme.bida.dto.RevenueReportRow;
+import com.acme.bida.service.BillCloseResult;
+import com.acme.bida.repository.BillRepository;
+import com.acme.bida.service.BillStatusResult;
+import com.acme.bida.service.BillingService;
+import com.acme.bida.service.RevenueReportService;
+import com.acme.bida.service.TenantKeyResolver;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/billing")
+@RequiredArgsConstructor
+@Slf4j
+public class BillingController {
+    
+    private final BillingService billingService;
+    private final BillRepository billRepository;
+    private final RevenueReportService revenueReportService;
+    private final TenantKeyResolver tenantKeyResolver;
+    
+    // Bills of the caller's own club; the tenant filter comes from the principal, not the request
+    @GetMapping("/bills")
+    public ResponseEntity<List<Bill>> getClubBills(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(billRepository.findInCallerClubCreatedBetween(from, to));
+    }
+    
+    @GetMapping("/bills/{id}")
+    public ResponseEntity<Bill> getClubBill(@PathVariable Long id) {
+        return billRepository.findByIdInCallerClub(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @PostMapping("/tables/{tableId}/close")
+    public ResponseEntity<?> closeBill(@PathVariable Long tableId,
+                                       @RequestBody(required = false) CloseBillRequest request,
+                                       @AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        Long bookingId = request != null ? request.getBookingId() : null;
+        BillCloseResult result = billingService.closeBill(tableId, bookingId, principal.id());
+        return switch (result.outcome()) {
+            case APPLIED -> ResponseEntity.status(HttpStatus.CREATED).body(result.bill());
+            case TABLE_NOT_OCCUPIED -> ResponseEntity.status(HttpStatus.CONFLICT).build();
+            case NOT_FOUND -> ResponseEntity.notFound().build();
+        };
+    }
+    
+    @PostMapping("/bills/{id}/pay")
+    public ResponseEntity<Bill> payBill(@PathVariable Long id, @Valid @RequestBody PayBillRequest request) {
+        return billRepository.findByIdInCallerClub(id)
+                .map(bill -> toResponse(billingService.pay(bill, request.getPaymentMethod(), request.getPaymentReference())))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @PostMapping("/bills/{id}/cancel")
+    public ResponseEntity<Bill> cancelBill(@PathVariable Long id) {
+        return billRepository.findByIdInCallerClub(id)
+                .map(bill -> toResponse(billingService.cancel(bill)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    // Reads only the rollups; without clubId the whole company of the caller is reported
+    @GetMapping("/reports/revenue")
+    public ResponseEntity<List<RevenueReportRow>> getRevenue(@RequestParam(required = false) Long clubId,
+                                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                             @RequestParam(defaultValue = "DAY") RevenueReportService.Granularity granularity,
+                                                             @AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        if (!from.isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!canReport(principal, clubId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(revenueReportService.report(clubId, principal.companyId(), from, to, granularity));
+    }
+    
+    @PostMapping("/reports/revenue/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildRevenue(@RequestParam(required = false) Long clubId,
+                                                              @AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        if (principal.role() != User.UserRole.OWNER || clubId == null || !canReport(principal, clubId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(Map.of("clubId", clubId, "rows", revenueReportService.rebuild(clubId)));
+    }
+    
+    private boolean canReport(AuthenticatedPrincipal principal, Long clubId) {
+        if (principal.companyId() == null) {
+            return false;
+        }
+        if (clubId == null) {
+            return principal.clubId() == null;
+        }
+        return (principal.clubId() == null || principal.clubId().equals(clubId))
+                && tenantKeyResolver.belongsTo(clubId, principal.companyId());
+    }
+    
+    private ResponseEntity<Bill> toResponse(BillStatusResult result) {
+        return switch (result.outcome()) {
+            case APPLIED -> ResponseEntity.ok(result.bill());
+            case CONFLICT -> ResponseEntity.status(HttpStatus.CONFLICT).body(result.bill());
+            case NOT_FOUND -> ResponseEntity.notFound().build();
+        };
+    }
+}
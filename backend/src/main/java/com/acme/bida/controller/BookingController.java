@@ -0,0 +1,83 @@
+package com.acme.bida.controller;
+
+import com.acme.bida.auth.AuthenticatedPrincipal;
+import com.acme.bida.domain.entity.Booking;
+import com.acme.bida.domain.entity.Table;
+import com.acme.bida.dto.CreateBookingRequest;
+import com.acme.bida.service.BookingAvailabilityIndex;
+import com.acme.bida.service.BookingResult;
+import com.acme.bida.service.BookingService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/bookings")
+@RequiredArgsConstructor
+@Slf4j
+public class BookingController {
+    
+    private final BookingService bookingService;
+    
+    @GetMapping("/availability")
+    public ResponseEntity<Map<String, Object>> isTableFree(@RequestParam Long tableId,
+                                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        if (!start.isBefore(end)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(Map.of("tableId", tableId, "free", bookingService.isFree(tableId, start, end)));
+    }
+    
+    @GetMapping("/availability/search")
+    public ResponseEntity<List<BookingAvailabilityIndex.AvailableTable>> findFreeTables(
+            @RequestParam Long clubId,
+            @RequestParam(required = false) Table.TableType type,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam int durationMinutes) {
+        if (durationMinutes <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(bookingService.findFreeTables(clubId, type, start, start.plusMinutes(durationMinutes)));
+    }
+    
+    @PostMapping
+    public ResponseEntity<Booking> createBooking(@Valid @RequestBody CreateBookingRequest request,
+                                                 @AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        if (!request.getStartTime().isBefore(request.getEndTime())) {
+            return ResponseEntity.badRequest().build();
+        }
+        BookingResult result = bookingService.create(request.getTableId(), principal.id(),
+                request.getStartTime(), request.getEndTime());
+        return toResponse(result);
+    }
+    
+    @PutMapping("/{id}/confirm")
+    public ResponseEntity<Booking> confirmBooking(@PathVariable Long id) {
+        return toResponse(bookingService.confirm(id));
+    }
+    
+    @PutMapping("/{id}/cancel")
+    public ResponseEntity<Booking> cancelBooking(@PathVariable Long id) {
+        return toResponse(bookingService.cancel(id));
+    }
+    
+    private ResponseEntity<Booking> toResponse(BookingResult result) {
+        return switch (result.outcome()) {
+            case CREATED -> ResponseEntity.status(HttpStatus.CREATED).body(result.booking());
+            case UPDATED -> ResponseEntity.ok(result.booking());
+            case CONFLICT -> ResponseEntity.status(HttpStatus.CONFLICT).build();
+            case INVALID_STATUS -> ResponseEntity.unprocessableEntity().body(result.booking());
+            case NOT_FOUND -> ResponseEntity.notFound().build();
+        };
+    }
+}
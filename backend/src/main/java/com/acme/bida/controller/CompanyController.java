@@ -1,7 +1,10 @@
 package com.acme.bida.controller;
 
+import com.acme.bida.config.PaginationConfig;
 import com.acme.bida.domain.entity.Company;
+import com.acme.bida.dto.KeysetPage;
 import com.acme.bida.repository.CompanyRepository;
+import com.acme.bida.repository.projection.CompanySummary;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,6 +14,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.Parameter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -25,11 +29,14 @@ import java.util.List;
 public class CompanyController {
     
     private final CompanyRepository companyRepository;
+    private final PaginationConfig paginationConfig;
     
     @GetMapping
-    public ResponseEntity<List<Company>> getAllCompanies() {
-        List<Company> companies = companyRepository.findAll();
-        return ResponseEntity.ok(companies);
+    public ResponseEntity<KeysetPage<CompanySummary>> getAllCompanies(@RequestParam(defaultValue = "0") Long after,
+                                                                      @RequestParam(required = false) Integer limit) {
+        int pageSize = paginationConfig.resolveLimit(limit);
+        List<CompanySummary> companies = companyRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(pageSize + 1));
+        return ResponseEntity.ok(KeysetPage.of(companies, pageSize, CompanySummary::getId));
     }
     
     @GetMapping("/{id}")
@@ -47,22 +54,23 @@ public class CompanyController {
     
     @PutMapping("/{id}")
     public ResponseEntity<Company> updateCompany(@PathVariable Long id, @Valid @RequestBody Company company) {
-        if (!companyRepository.existsById(id)) {
-            return ResponseEntity.notFound().build();
-        }
-        
-        company.setId(id);
-        Company updatedCompany = companyRepository.save(company);
-        return ResponseEntity.ok(updatedCompany);
+        // findById is served from the second-level cache; existsById would always run a query
+        return companyRepository.findById(id)
+                .map(existing -> {
+                    company.setId(id);
+                    company.setCreatedAt(existing.getCreatedAt());
+                    return ResponseEntity.ok(companyRepository.save(company));
+                })
+                .orElse(ResponseEntity.notFound().build());
     }
     
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteCompany(@PathVariable Long id) {
-        if (!companyRepository.existsById(id)) {
-            return ResponseEntity.notFound().build();
-        }
-        
-        companyRepository.deleteById(id);
-        return ResponseEntity.noContent().build();
+        return companyRepository.findById(id)
+                .map(existing -> {
+                    companyRepository.delete(existing);
+                    return ResponseEntity.noContent().<Void>build();
+                })
+                .orElse(ResponseEntity.notFound().build());
     }
 }
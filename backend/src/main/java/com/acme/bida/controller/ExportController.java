@@ -0,0 +1,67 @@
+package com.acme.bida.controller;
+
+import com.acme.bida.auth.AuthenticatedPrincipal;
+import com.acme.bida.service.ExportService;
+import com.acme.bida.service.TenantKeyResolver;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/exports")
+@RequiredArgsConstructor
+@Slf4j
+public class ExportController {
+    
+    private final ExportService exportService;
+    private final TenantKeyResolver tenantKeyResolver;
+    
+    @GetMapping("/clubs/{clubId}/{dataset}")
+    public void exportClubData(@PathVariable Long clubId,
+                               @PathVariable String dataset,
+                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                               @RequestParam(defaultValue = "ndjson") String format,
+                               @AuthenticationPrincipal AuthenticatedPrincipal principal,
+                               HttpServletResponse response) throws IOException {
+        if (!canExport(principal, clubId)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        Optional<ExportService.Dataset> resolvedDataset = ExportService.Dataset.fromPath(dataset);
+        if (resolvedDataset.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Unknown dataset: " + dataset);
+            return;
+        }
+        Optional<ExportService.Format> exportFormat = ExportService.Format.fromParam(format);
+        if (exportFormat.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Unknown format: " + format);
+            return;
+        }
+        if (!from.isBefore(to)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "'from' must be before 'to'");
+            return;
+        }
+        
+        response.setContentType(exportFormat.get().getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"club-" + clubId + "-" + dataset + "." + exportFormat.get().getExtension() + "\"");
+        
+        exportService.export(resolvedDataset.get(), clubId, from, to, exportFormat.get(), response.getOutputStream());
+    }
+    
+    // Club staff export their own club; company-wide users any club of their company
+    private boolean canExport(AuthenticatedPrincipal principal, Long clubId) {
+        return (principal.clubId() == null || principal.clubId().equals(clubId))
+                && tenantKeyResolver.belongsTo(clubId, principal.companyId());
+    }
+}
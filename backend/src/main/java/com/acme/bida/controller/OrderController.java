@@ -0,0 +1,99 @@
+package com.acme.bida.controller;
+
+import com.acme.bida.auth.AuthenticatedPrincipal;
+import com.acme.bida.dto.BulkOrderRequest;
+import com.acme.bida.dto.OrderQueueMessage;
+import com.acme.bida.dto.OrderQueueTransitionRequest;
+import com.acme.bida.service.OrderPlacementResult;
+import com.acme.bida.service.OrderQueueService;
+import com.acme.bida.service.OrderQueueTransitionResult;
+import com.acme.bida.service.OrderService;
+import com.acme.bida.service.TenantKeyResolver;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/orders")
+@RequiredArgsConstructor
+@Slf4j
+public class OrderController {
+    
+    private final OrderService orderService;
+    private final OrderQueueService orderQueueService;
+    private final TenantKeyResolver tenantKeyResolver;
+    
+    @PostMapping("/bulk")
+    public ResponseEntity<Map<String, Object>> placeBulk(@Valid @RequestBody BulkOrderRequest request,
+                                                         @AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        OrderPlacementResult result = orderService.placeBulk(request, principal.id());
+        return switch (result.outcome()) {
+            case APPLIED -> ResponseEntity.status(HttpStatus.CREATED)
+                    .body(Map.of("orders", result.orders(), "items", result.items()));
+            case TABLE_NOT_FOUND -> ResponseEntity.notFound().build();
+            case INVALID_PRODUCT -> ResponseEntity.badRequest().build();
+        };
+    }
+    
+    // Open orders of the club, oldest first, served from memory
+    @GetMapping("/queue")
+    public ResponseEntity<OrderQueueMessage> getQueue(@RequestParam(required = false) Long clubId,
+                                                      @AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        Long club = resolveClub(principal, clubId);
+        if (club == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(orderQueueService.snapshot(club));
+    }
+    
+    /**
+     * Server-Sent Events feed of the club's queue: a {@code snapshot} event first, then one
+     * {@code delta} event per committed change.
+     */
+    @GetMapping(path = "/queue/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamQueue(@RequestParam(required = false) Long clubId,
+                                                  @AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        Long club = resolveClub(principal, clubId);
+        if (club == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(orderQueueService.subscribe(club));
+    }
+    
+    /**
+     * Bulk status change: 200 with the moved and the skipped order ids, 422 when the
+     * transition itself is not allowed.
+     */
+    @PostMapping("/queue/transitions")
+    public ResponseEntity<Map<String, Object>> transition(@Valid @RequestBody OrderQueueTransitionRequest request,
+                                                          @AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        Long club = resolveClub(principal, request.getClubId());
+        if (club == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        OrderQueueTransitionResult result = orderQueueService.transition(club, request.getOrderIds(),
+                request.getFrom(), request.getTo());
+        return switch (result.outcome()) {
+            case APPLIED -> ResponseEntity.ok(Map.of("applied", result.applied(), "skipped", result.skipped()));
+            case INVALID_TRANSITION -> ResponseEntity.unprocessableEntity().build();
+        };
+    }
+    
+    // Club staff act on their own club; company-wide users name a club of their company
+    private Long resolveClub(AuthenticatedPrincipal principal, Long clubId) {
+        if (principal.clubId() != null) {
+            return clubId == null || clubId.equals(principal.clubId()) ? principal.clubId() : null;
+        }
+        return clubId != null && tenantKeyResolver.belongsTo(clubId, principal.companyId()) ? clubId : null;
+    }
+}
@@ -0,0 +1,101 @@
+package com.acme.bida.controller;
+
+import com.acme.bida.auth.AuthenticatedPrincipal;
+import com.acme.bida.config.PaginationConfig;
+import com.acme.bida.domain.entity.User;
+import com.acme.bida.dto.KeysetPage;
+import com.acme.bida.dto.PaymentAttemptView;
+import com.acme.bida.dto.PaymentReplayRequest;
+import com.acme.bida.repository.PaymentAttemptRepository;
+import com.acme.bida.service.PaymentProviderStub;
+import com.acme.bida.service.PaymentReplayResult;
+import com.acme.bida.service.PaymentWebhookResult;
+import com.acme.bida.service.PaymentWebhookService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/payments")
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentController {
+    
+    private static final Set<String> STATUSES = Set.of(
+            PaymentAttemptRepository.PENDING, PaymentAttemptRepository.RETRY, PaymentAttemptRepository.PAID,
+            PaymentAttemptRepository.REJECTED, PaymentAttemptRepository.DEAD);
+    
+    private final PaymentWebhookService paymentWebhookService;
+    private final PaymentAttemptRepository paymentAttemptRepository;
+    private final ObjectProvider<PaymentProviderStub> paymentProviderStub;
+    private final PaginationConfig paginationConfig;
+    
+    // Called by the providers, authenticated by the body signature instead of a JWT
+    @PostMapping("/webhooks/{provider}")
+    public ResponseEntity<Map<String, String>> receiveWebhook(@PathVariable String provider,
+                                                              @RequestBody byte[] body,
+                                                              @RequestHeader(value = PaymentWebhookService.SIGNATURE_HEADER, required = false) String signature) {
+        PaymentWebhookResult result = paymentWebhookService.ingest(provider, body, signature);
+        return switch (result.outcome()) {
+            case ACCEPTED, DUPLICATE -> ResponseEntity.ok(Map.of("status", result.outcome().name()));
+            case INVALID_SIGNATURE -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            case MALFORMED -> ResponseEntity.badRequest().build();
+            case UNSUPPORTED_PROVIDER -> ResponseEntity.notFound().build();
+        };
+    }
+    
+    // Dead-letter inspection for the caller's company, e.g. ?status=DEAD or ?status=REJECTED
+    @GetMapping("/attempts")
+    public ResponseEntity<KeysetPage<PaymentAttemptView>> getAttempts(@RequestParam(defaultValue = "DEAD") String status,
+                                                                      @RequestParam(defaultValue = "0") Long after,
+                                                                      @RequestParam(required = false) Integer limit,
+                                                                      @AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        if (!isCompanyOwner(principal)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (!STATUSES.contains(status)) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = paginationConfig.resolveLimit(limit);
+        List<PaymentAttemptView> attempts = paymentAttemptRepository.findByStatus(status, principal.companyId(), after, pageSize + 1);
+        return ResponseEntity.ok(KeysetPage.of(attempts, pageSize, PaymentAttemptView::getId));
+    }
+    
+    @PostMapping("/attempts/{id}/retry")
+    public ResponseEntity<Void> retryAttempt(@PathVariable Long id,
+                                             @AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        if (!isCompanyOwner(principal)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (paymentAttemptRepository.requeue(id, principal.companyId()) == 0) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.accepted().build();
+    }
+    
+    @PostMapping("/stub/replay")
+    public ResponseEntity<PaymentReplayResult> replay(@Valid @RequestBody PaymentReplayRequest request,
+                                                      @AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        PaymentProviderStub stub = paymentProviderStub.getIfAvailable();
+        if (stub == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!isCompanyOwner(principal)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(stub.replay(request));
+    }
+    
+    private static boolean isCompanyOwner(AuthenticatedPrincipal principal) {
+        return principal.role() == User.UserRole.OWNER && principal.companyId() != null;
+    }
+}
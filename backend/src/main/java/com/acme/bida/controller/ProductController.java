@@ -0,0 +1,111 @@
+package com.acme.bida.controller;
+
+import com.acme.bida.domain.entity.Product;
+import com.acme.bida.dto.ProductAvailabilityRequest;
+import com.acme.bida.dto.ProductRequest;
+import com.acme.bida.service.MenuCacheService;
+import com.acme.bida.service.ProductService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/products")
+@RequiredArgsConstructor
+@Slf4j
+public class ProductController {
+    
+    private final ProductService productService;
+    private final MenuCacheService menuCacheService;
+    
+    // Pre-serialized menu; a matching If-None-Match is answered with 304 from memory
+    @GetMapping("/menu")
+    public ResponseEntity<byte[]> getMenu(@RequestParam Long clubId,
+                                          @RequestParam(required = false) Product.ProductCategory category,
+                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        MenuCacheService.CachedMenu menu = menuCacheService.menu(clubId, category);
+        if (menu.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(menu.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(menu.etag())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        response.contentType(MediaType.APPLICATION_JSON);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(menu.gzip());
+        }
+        return response.body(menu.json());
+    }
+    
+    @PostMapping
+    public ResponseEntity<Product> createProduct(@Valid @RequestBody ProductRequest request) {
+        return productService.create(request)
+                .map(product -> ResponseEntity.status(HttpStatus.CREATED).body(product))
+                .orElse(ResponseEntity.badRequest().build());
+    }
+    
+    @PutMapping("/{id}")
+    public ResponseEntity<Product> updateProduct(@PathVariable Long id, @Valid @RequestBody ProductRequest request) {
+        return productService.update(id, request)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @PutMapping("/{id}/availability")
+    public ResponseEntity<Product> setAvailability(@PathVariable Long id, @Valid @RequestBody ProductAvailabilityRequest request) {
+        return productService.setAvailability(id, request.getAvailable())
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * True when the Accept-Encoding header allows gzip: named as {@code gzip} (or {@code x-gzip}),
+     * or covered by {@code *}, with a non-zero quality. {@code gzip;q=0} refuses it.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean gzip = null;
+        boolean wildcard = false;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            boolean accepted = quality(parts) > 0;
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = accepted;
+            } else if (coding.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return gzip != null ? gzip : wildcard;
+    }
+    
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
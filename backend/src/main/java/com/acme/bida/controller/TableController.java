@@ -0,0 +1,136 @@
+package com.acme.bida.controller;
+
+import com.acme.bida.auth.AuthenticatedPrincipal;
+import com.acme.bida.domain.entity.Table;
+import com.acme.bida.domain.entity.TableSession;
+import com.acme.bida.dto.RunningFeeView;
+import com.acme.bida.dto.TableStatusView;
+import com.acme.bida.dto.TableTransitionRequest;
+import com.acme.bida.repository.TableRepository;
+import com.acme.bida.service.TableService;
+import com.acme.bida.service.TableSessionResult;
+import com.acme.bida.service.TableSessionService;
+import com.acme.bida.service.TableStatusBroadcaster;
+import com.acme.bida.service.TableTransitionResult;
+import com.acme.bida.service.TenantKeyResolver;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Comparator;
+import java.util.List;
+
+@RestController
+@RequestMapping("/tables")
+@RequiredArgsConstructor
+@Slf4j
+public class TableController {
+    
+    private final TableService tableService;
+    private final TableStatusBroadcaster tableStatusBroadcaster;
+    private final TableSessionService tableSessionService;
+    private final TenantKeyResolver tenantKeyResolver;
+    private final TableRepository tableRepository;
+    
+    // Served from the in-memory club snapshot; tablets should prefer the /topic/clubs/{clubId}/tables feed.
+    // The access check runs first, so only existing clubs the caller may see are ever loaded
+    @GetMapping
+    public ResponseEntity<List<TableStatusView>> getTables(@RequestParam Long clubId,
+                                                           @RequestParam(required = false) Table.TableStatus status,
+                                                           @AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        if (!tenantKeyResolver.canAccess(principal, clubId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        List<TableStatusView> tables = tableStatusBroadcaster.snapshot(clubId).getTables().stream()
+                .filter(table -> status == null || table.getStatus() == status)
+                .toList();
+        return ResponseEntity.ok(tables);
+    }
+    
+    /**
+     * Conditional status change: 200 when applied, 409 with the current table when another
+     * request changed it first, 422 when the transition itself is not allowed.
+     */
+    @PostMapping("/{id}/transitions")
+    public ResponseEntity<TableStatusView> transition(@PathVariable Long id,
+                                                      @Valid @RequestBody TableTransitionRequest request,
+                                                      @AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        ResponseEntity<TableStatusView> denied = checkTableAccess(id, principal);
+        if (denied != null) {
+            return denied;
+        }
+        TableTransitionResult result = tableService.transition(id, request.getFrom(), request.getTo());
+        return switch (result.outcome()) {
+            case APPLIED -> ResponseEntity.ok(TableStatusView.from(result.table()));
+            case CONFLICT -> ResponseEntity.status(HttpStatus.CONFLICT).body(TableStatusView.from(result.table()));
+            case INVALID_TRANSITION -> ResponseEntity.unprocessableEntity().build();
+            case NOT_FOUND -> ResponseEntity.notFound().build();
+        };
+    }
+    
+    // Running fees of every open session in the club, computed from the in-memory meter
+    @GetMapping("/sessions")
+    public ResponseEntity<List<RunningFeeView>> getRunningFees(@RequestParam Long clubId,
+                                                               @AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        if (!tenantKeyResolver.canAccess(principal, clubId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        long now = System.currentTimeMillis();
+        List<RunningFeeView> fees = tableSessionService.runningMeters(clubId).stream()
+                .map(meter -> RunningFeeView.from(meter, now))
+                .sorted(Comparator.comparing(RunningFeeView::getTableId))
+                .toList();
+        return ResponseEntity.ok(fees);
+    }
+    
+    @PostMapping("/{id}/session/start")
+    public ResponseEntity<TableSession> startSession(@PathVariable Long id,
+                                                     @AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        ResponseEntity<TableSession> denied = checkTableAccess(id, principal);
+        return denied != null ? denied : toResponse(tableSessionService.start(id));
+    }
+    
+    @PostMapping("/{id}/session/pause")
+    public ResponseEntity<TableSession> pauseSession(@PathVariable Long id,
+                                                     @AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        ResponseEntity<TableSession> denied = checkTableAccess(id, principal);
+        return denied != null ? denied : toResponse(tableSessionService.pause(id));
+    }
+    
+    @PostMapping("/{id}/session/resume")
+    public ResponseEntity<TableSession> resumeSession(@PathVariable Long id,
+                                                      @AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        ResponseEntity<TableSession> denied = checkTableAccess(id, principal);
+        return denied != null ? denied : toResponse(tableSessionService.resume(id));
+    }
+    
+    @PostMapping("/{id}/session/stop")
+    public ResponseEntity<TableSession> stopSession(@PathVariable Long id,
+                                                    @AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        ResponseEntity<TableSession> denied = checkTableAccess(id, principal);
+        return denied != null ? denied : toResponse(tableSessionService.stop(id));
+    }
+    
+    // 404 for an unknown table, 403 for a table outside the caller's clubs, null when allowed
+    private <T> ResponseEntity<T> checkTableAccess(Long tableId, AuthenticatedPrincipal principal) {
+        Table table = tableRepository.findById(tableId).orElse(null);
+        if (table == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return tenantKeyResolver.canAccess(principal, table.getClubId())
+                ? null
+                : ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    }
+    
+    private ResponseEntity<TableSession> toResponse(TableSessionResult result) {
+        return switch (result.outcome()) {
+            case APPLIED -> ResponseEntity.ok(result.session());
+            case TABLE_NOT_AVAILABLE, INVALID_STATE -> ResponseEntity.status(HttpStatus.CONFLICT).build();
+            case NO_OPEN_SESSION, NOT_FOUND -> ResponseEntity.notFound().build();
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.acme.bida.controller;
+
+import com.acme.bida.dto.TableStatusMessage;
+import com.acme.bida.service.TableStatusBroadcaster;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Clients subscribe to {@code /app/clubs/{clubId}/tables} once to receive the full snapshot,
+ * and to {@code /topic/clubs/{clubId}/tables} for the deltas that follow it.
+ */
+@Controller
+@RequiredArgsConstructor
+public class TableStatusSocketController {
+    
+    private final TableStatusBroadcaster tableStatusBroadcaster;
+    
+    @SubscribeMapping("/clubs/{clubId}/tables")
+    public TableStatusMessage subscribeTables(@DestinationVariable Long clubId) {
+        return tableStatusBroadcaster.snapshot(clubId);
+    }
+}
@@ -1,11 +1,19 @@
 package com.acme.bida.controller;
 
+import com.acme.bida.auth.PrincipalCache;
+import com.acme.bida.config.PaginationConfig;
 import com.acme.bida.domain.entity.User;
+import com.acme.bida.dto.KeysetPage;
+import com.acme.bida.dto.UpdateUserRoleRequest;
 import com.acme.bida.repository.UserRepository;
+import com.acme.bida.repository.projection.UserSummary;
 import com.acme.bida.service.AuthService;
+import com.acme.bida.service.PasswordHashingRejectedException;
+import com.acme.bida.service.PasswordHashingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -24,11 +32,16 @@ public class UserController {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthService authService;
+    private final PasswordHashingService passwordHashingService;
+    private final PrincipalCache principalCache;
+    private final PaginationConfig paginationConfig;
     
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userRepository.findAll();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<KeysetPage<UserSummary>> getAllUsers(@RequestParam(defaultValue = "0") Long after,
+                                                               @RequestParam(required = false) Integer limit) {
+        int pageSize = paginationConfig.resolveLimit(limit);
+        List<UserSummary> users = userRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(pageSize + 1));
+        return ResponseEntity.ok(KeysetPage.of(users, pageSize, UserSummary::getId));
     }
     
     @GetMapping("/me")
@@ -78,7 +91,7 @@ public class UserController {
             }
             
             // Hash the password properly
-            String hashedPassword = passwordEncoder.encode(user.getPasswordHash());
+            String hashedPassword = passwordHashingService.encode(user.getPasswordHash());
             user.setPasswordHash(hashedPassword);
             
             // Set default values
@@ -90,13 +103,40 @@ public class UserController {
             }
             
             User savedUser = userRepository.save(user);
+            principalCache.invalidate(savedUser.getUsername());
             return ResponseEntity.ok(savedUser);
+        } catch (PasswordHashingRejectedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error creating user: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
     
+    @PutMapping("/{id}/deactivate")
+    public ResponseEntity<User> deactivateUser(@PathVariable Long id) {
+        return userRepository.findById(id)
+                .map(user -> {
+                    user.setIsActive(false);
+                    User savedUser = userRepository.save(user);
+                    principalCache.invalidate(savedUser.getUsername());
+                    return ResponseEntity.ok(savedUser);
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @PutMapping("/{id}/role")
+    public ResponseEntity<User> updateUserRole(@PathVariable Long id, @Valid @RequestBody UpdateUserRoleRequest request) {
+        return userRepository.findById(id)
+                .map(user -> {
+                    user.setRole(request.getRole());
+                    User savedUser = userRepository.save(user);
+                    principalCache.invalidate(savedUser.getUsername());
+                    return ResponseEntity.ok(savedUser);
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
     @GetMapping("/test/password")
     public ResponseEntity<String> testPassword(@RequestParam String rawPassword, @RequestParam String username) {
         Optional<User> userOpt = userRepository.findByUsername(username);
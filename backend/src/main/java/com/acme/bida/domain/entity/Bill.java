@@ -27,6 +27,12 @@ public class Bill {
     @Column(name = "table_id", nullable = false)
     private Long tableId;
     
+    @Column(name = "club_id", nullable = false)
+    private Long clubId;
+    
+    @Column(name = "company_id", nullable = false)
+    private Long companyId;
+    
     @Column(name = "booking_id")
     private Long bookingId;
     
@@ -50,6 +56,9 @@ public class Bill {
     @Column(name = "payment_reference")
     private String paymentReference;
     
+    @Column(name = "paid_at")
+    private LocalDateTime paidAt;
+    
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,34 @@
+package com.acme.bida.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.io.Serializable;
+
+@Entity
+@jakarta.persistence.Table(name = "bill_orders")
+@IdClass(BillOrder.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BillOrder {
+    
+    @Id
+    @Column(name = "bill_id", nullable = false)
+    private Long billId;
+    
+    @Id
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+        
+        private Long billId;
+        private Long orderId;
+    }
+}
@@ -26,6 +26,12 @@ public class Booking {
     @Column(name = "table_id", nullable = false)
     private Long tableId;
     
+    @Column(name = "club_id", nullable = false)
+    private Long clubId;
+    
+    @Column(name = "company_id", nullable = false)
+    private Long companyId;
+    
     @Column(name = "user_id", nullable = false)
     private Long userId;
     
@@ -1,6 +1,8 @@
 package com.acme.bida.domain.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -17,6 +19,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "club")
 public class Club {
     
     @Id
@@ -41,6 +45,11 @@ public class Club {
     @Column(name = "opening_hours")
     private String openingHours;
     
+    // IANA zone; revenue rollups bucket payments by the club's local date and hour
+    @Column(name = "time_zone", nullable = false, length = 64)
+    @Builder.Default
+    private String timeZone = "Asia/Ho_Chi_Minh";
+    
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -20,13 +20,21 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditingEntityListener.class)
 public class Order {
     
+    // Pooled sequence instead of IDENTITY so Hibernate can batch the inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_id_seq")
+    @SequenceGenerator(name = "orders_id_seq", sequenceName = "orders_id_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "table_id", nullable = false)
     private Long tableId;
     
+    @Column(name = "club_id", nullable = false)
+    private Long clubId;
+    
+    @Column(name = "company_id", nullable = false)
+    private Long companyId;
+    
     @Column(name = "user_id", nullable = false)
     private Long userId;
     
@@ -50,6 +58,15 @@ public class Order {
         PREPARING,
         READY,
         DELIVERED,
-        CANCELLED
+        CANCELLED;
+        
+        public boolean canTransitionTo(OrderStatus target) {
+            return switch (this) {
+                case PENDING -> target == PREPARING || target == CANCELLED;
+                case PREPARING -> target == READY || target == CANCELLED;
+                case READY -> target == DELIVERED;
+                case DELIVERED, CANCELLED -> false;
+            };
+        }
     }
 }
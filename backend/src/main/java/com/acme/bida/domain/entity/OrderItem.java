@@ -19,13 +19,21 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditingEntityListener.class)
 public class OrderItem {
     
+    // Pooled sequence instead of IDENTITY so Hibernate can batch the inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_id_seq")
+    @SequenceGenerator(name = "order_items_id_seq", sequenceName = "order_items_id_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "order_id", nullable = false)
     private Long orderId;
     
+    @Column(name = "club_id", nullable = false)
+    private Long clubId;
+    
+    @Column(name = "company_id", nullable = false)
+    private Long companyId;
+    
     @Column(name = "product_id", nullable = false)
     private Long productId;
     
@@ -25,12 +25,16 @@ public class RefreshToken {
     @Column(name = "user_id", nullable = false)
     private Long userId;
     
+    // SHA-256 hex digest of the opaque token handed to the client
     @Column(unique = true, nullable = false)
     private String token;
     
     @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
     
+    @Column(name = "used_at")
+    private LocalDateTime usedAt;
+    
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
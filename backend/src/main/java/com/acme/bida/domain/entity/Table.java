@@ -1,6 +1,8 @@
 package com.acme.bida.domain.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -19,6 +21,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "table")
 public class Table {
     
     @Id
@@ -61,6 +65,15 @@ public class Table {
         AVAILABLE,
         OCCUPIED,
         MAINTENANCE,
-        RESERVED
+        RESERVED;
+        
+        public boolean canTransitionTo(TableStatus target) {
+            return switch (this) {
+                case AVAILABLE -> target == OCCUPIED || target == RESERVED || target == MAINTENANCE;
+                case RESERVED -> target == OCCUPIED || target == AVAILABLE;
+                case OCCUPIED -> target == AVAILABLE || target == MAINTENANCE;
+                case MAINTENANCE -> target == AVAILABLE;
+            };
+        }
     }
 }
@@ -0,0 +1,70 @@
+package com.acme.bida.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@jakarta.persistence.Table(name = "table_sessions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EntityListeners(AuditingEntityListener.class)
+public class TableSession {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "table_id", nullable = false)
+    private Long tableId;
+    
+    @Column(name = "club_id", nullable = false)
+    private Long clubId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private SessionStatus status = SessionStatus.RUNNING;
+    
+    @Column(name = "hourly_rate", nullable = false, precision = 10, scale = 2)
+    private BigDecimal hourlyRate;
+    
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+    
+    @Column(name = "paused_at")
+    private LocalDateTime pausedAt;
+    
+    @Column(name = "paused_seconds", nullable = false)
+    @Builder.Default
+    private Long pausedSeconds = 0L;
+    
+    @Column(name = "ended_at")
+    private LocalDateTime endedAt;
+    
+    @Column(name = "table_fee", precision = 10, scale = 2)
+    private BigDecimal tableFee;
+    
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    public enum SessionStatus {
+        RUNNING,
+        PAUSED,
+        CLOSED
+    }
+}
@@ -0,0 +1,22 @@
+package com.acme.bida.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+@Entity
+@jakarta.persistence.Table(name = "token_revocations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocation {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "revoked_before", nullable = false)
+    private LocalDateTime revokedBefore;
+}
@@ -0,0 +1,48 @@
+package com.acme.bida.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One or more orders for a table, each with its items, placed in a single call.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderRequest {
+
+    @NotNull(message = "Table is required")
+    private Long tableId;
+
+    @NotEmpty(message = "At least one order is required")
+    private List<@Valid OrderLines> orders;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OrderLines {
+
+        @NotEmpty(message = "An order needs at least one item")
+        private List<@Valid Line> items;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+
+        @NotNull(message = "Product is required")
+        private Long productId;
+
+        @NotNull(message = "Quantity is required")
+        @Min(value = 1, message = "Quantity must be at least 1")
+        private Integer quantity;
+    }
+}
@@ -0,0 +1,9 @@
+package com.acme.bida.dto;
+
+import lombok.Data;
+
+@Data
+public class CloseBillRequest {
+
+    private Long bookingId;
+}
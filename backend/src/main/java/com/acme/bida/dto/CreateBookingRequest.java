@@ -0,0 +1,19 @@
+package com.acme.bida.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class CreateBookingRequest {
+
+    @NotNull(message = "Table is required")
+    private Long tableId;
+
+    @NotNull(message = "Start time is required")
+    private LocalDateTime startTime;
+
+    @NotNull(message = "End time is required")
+    private LocalDateTime endTime;
+}
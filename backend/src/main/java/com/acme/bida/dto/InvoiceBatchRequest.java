@@ -0,0 +1,11 @@
+package com.acme.bida.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class InvoiceBatchRequest {
+    
+    private List<InvoiceDraft> invoices;
+}
@@ -0,0 +1,48 @@
+package com.acme.bida.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Invoice for one closed bill as handed to the company's accounting system. Order items are
+ * merged per product and price; the table fee is a separate amount. {@code idempotencyKey} is
+ * stable per bill, so a draft sent twice after a crash is recognised by the receiver.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceDraft {
+    
+    private String idempotencyKey;
+    private Long companyId;
+    private Long clubId;
+    private Long billId;
+    private Long tableId;
+    private LocalDateTime issuedAt;
+    private BigDecimal tableFee;
+    private BigDecimal totalAmount;
+    private List<Line> lines;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+        private Long productId;
+        private String description;
+        private int quantity;
+        private BigDecimal unitPrice;
+        private BigDecimal totalPrice;
+    }
+    
+    public static String idempotencyKeyOf(Long billId) {
+        return "bill-" + billId;
+    }
+}
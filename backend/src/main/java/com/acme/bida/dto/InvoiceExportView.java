@@ -0,0 +1,29 @@
+package com.acme.bida.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * An invoice export and how far it got; {@code lastError} explains RETRY, REJECTED and DEAD rows.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceExportView {
+    
+    private Long id;
+    private Long clubId;
+    private Long billId;
+    private String status;
+    private int attempts;
+    private OffsetDateTime nextAttemptAt;
+    private String externalId;
+    private String lastError;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime sentAt;
+}
@@ -0,0 +1,30 @@
+package com.acme.bida.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (cursor) paginated listing. Pass {@code nextCursor} as {@code after}
+ * to fetch the following page; it is null when there are no more rows.
+ */
+@Data
+@AllArgsConstructor
+public class KeysetPage<T> {
+
+    private List<T> items;
+    private Long nextCursor;
+    private boolean hasMore;
+
+    /**
+     * Builds a page from rows fetched with {@code limit + 1}; the extra row only signals that more exist.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, Function<T, Long> idExtractor) {
+        boolean hasMore = rows.size() > limit;
+        List<T> items = hasMore ? rows.subList(0, limit) : rows;
+        Long nextCursor = hasMore ? idExtractor.apply(items.get(items.size() - 1)) : null;
+        return new KeysetPage<>(items, nextCursor, hasMore);
+    }
+}
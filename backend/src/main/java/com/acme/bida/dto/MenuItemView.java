@@ -0,0 +1,32 @@
+package com.acme.bida.dto;
+
+import com.acme.bida.domain.entity.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuItemView {
+    
+    private Long id;
+    private String name;
+    private String description;
+    private Product.ProductCategory category;
+    private BigDecimal price;
+    
+    public static MenuItemView from(Product product) {
+        return MenuItemView.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .category(product.getCategory())
+                .price(product.getPrice())
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.acme.bida.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Payload of the order queue feed. A SNAPSHOT carries every open order of the club, oldest first;
+ * a DELTA only the orders placed or changed by one transaction. An order in DELIVERED or
+ * CANCELLED status has left the queue. Clients apply deltas whose version is greater than the
+ * snapshot they hold.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderQueueMessage {
+    
+    private MessageType type;
+    private Long clubId;
+    private long version;
+    private List<OrderTicketView> orders;
+    
+    public enum MessageType {
+        SNAPSHOT,
+        DELTA
+    }
+}
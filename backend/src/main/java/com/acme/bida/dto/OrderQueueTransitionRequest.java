@@ -0,0 +1,33 @@
+package com.acme.bida.dto;
+
+import com.acme.bida.domain.entity.Order;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Moves many orders of one club from {@code from} to {@code to}, e.g. every finished order
+ * from PREPARING to READY. Owners name the club; staff always act on their own club.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderQueueTransitionRequest {
+    
+    private Long clubId;
+    
+    @NotEmpty(message = "At least one order is required")
+    @Size(max = 500, message = "At most 500 orders can be moved at once")
+    private List<@NotNull Long> orderIds;
+    
+    @NotNull(message = "Expected current status is required")
+    private Order.OrderStatus from;
+    
+    @NotNull(message = "Target status is required")
+    private Order.OrderStatus to;
+}
@@ -0,0 +1,41 @@
+package com.acme.bida.dto;
+
+import com.acme.bida.domain.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One order as shown on a club's bar screen. Tickets in the queue are never modified; a status
+ * change replaces the ticket with a copy, so a ticket can be serialized without a lock.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderTicketView {
+    
+    private Long orderId;
+    private Long tableId;
+    private String tableName;
+    private Order.OrderStatus status;
+    private BigDecimal totalAmount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private List<Line> items;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+        private Long productId;
+        private String productName;
+        private int quantity;
+    }
+}
@@ -0,0 +1,14 @@
+package com.acme.bida.dto;
+
+import com.acme.bida.domain.entity.Bill;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class PayBillRequest {
+
+    @NotNull(message = "Payment method is required")
+    private Bill.PaymentMethod paymentMethod;
+
+    private String paymentReference;
+}
@@ -0,0 +1,33 @@
+package com.acme.bida.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * A stored payment webhook and how far processing got; {@code lastError} explains RETRY,
+ * REJECTED and DEAD rows.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentAttemptView {
+    
+    private Long id;
+    private String provider;
+    private String providerTransactionId;
+    private Long billId;
+    private BigDecimal amount;
+    private int resultCode;
+    private String status;
+    private int attempts;
+    private OffsetDateTime nextAttemptAt;
+    private String lastError;
+    private OffsetDateTime receivedAt;
+    private OffsetDateTime processedAt;
+}
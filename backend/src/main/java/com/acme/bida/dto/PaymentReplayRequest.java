@@ -0,0 +1,36 @@
+package com.acme.bida.dto;
+
+import com.acme.bida.domain.entity.Bill;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class PaymentReplayRequest {
+    
+    @NotEmpty(message = "At least one bill is required")
+    private List<Long> billIds;
+    
+    @NotNull(message = "Provider is required")
+    private Bill.PaymentMethod provider = Bill.PaymentMethod.MOMO;
+    
+    // How many times each webhook is delivered, like a provider retrying before it sees a 200
+    @Min(1)
+    @Max(50)
+    private int deliveries = 3;
+    
+    @Min(1)
+    @Max(256)
+    private int concurrency = 32;
+    
+    // Share of bills whose payment is reported as declined
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private double declineRate = 0.0;
+}
@@ -0,0 +1,25 @@
+package com.acme.bida.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Payment confirmation as posted to {@code /payments/webhooks/{provider}}. {@code resultCode} 0
+ * means the customer paid; any other code is a declined or failed payment.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentWebhookRequest {
+    
+    private String transactionId;
+    private Long billId;
+    private BigDecimal amount;
+    private Integer resultCode;
+    private String message;
+}
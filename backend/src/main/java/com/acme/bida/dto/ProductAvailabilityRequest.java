@@ -0,0 +1,11 @@
+package com.acme.bida.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class ProductAvailabilityRequest {
+
+    @NotNull(message = "Availability is required")
+    private Boolean available;
+}
@@ -0,0 +1,32 @@
+package com.acme.bida.dto;
+
+import com.acme.bida.domain.entity.Product;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Body of product create and update; {@code clubId} is only read on create.
+ */
+@Data
+public class ProductRequest {
+
+    private Long clubId;
+
+    @NotBlank(message = "Name is required")
+    private String name;
+
+    private String description;
+
+    @NotNull(message = "Category is required")
+    private Product.ProductCategory category;
+
+    @NotNull(message = "Price is required")
+    @DecimalMin(value = "0.00", message = "Price must not be negative")
+    private BigDecimal price;
+
+    private Boolean isAvailable;
+}
@@ -0,0 +1,27 @@
+package com.acme.bida.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One bucket of paid revenue; {@code hour} is null in daily reports.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueReportRow {
+    
+    private LocalDate date;
+    private Integer hour;
+    private String paymentMethod;
+    private String tableType;
+    private long billCount;
+    private BigDecimal tableFeeTotal;
+    private BigDecimal revenueTotal;
+}
@@ -0,0 +1,37 @@
+package com.acme.bida.dto;
+
+import com.acme.bida.service.TableSessionMeter;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Live fee of one open table session. Amounts are in minor units (scale 2) of the club currency.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RunningFeeView {
+    
+    private Long sessionId;
+    private Long tableId;
+    private boolean paused;
+    private long startedAtEpochMillis;
+    private long billableMinutes;
+    private long ratePerHourMinor;
+    private long runningFeeMinor;
+    
+    public static RunningFeeView from(TableSessionMeter.Meter meter, long nowMillis) {
+        return RunningFeeView.builder()
+                .sessionId(meter.sessionId())
+                .tableId(meter.tableId())
+                .paused(meter.paused())
+                .startedAtEpochMillis(meter.startedAtMillis())
+                .billableMinutes(meter.billableMinutes(nowMillis))
+                .ratePerHourMinor(meter.ratePerHourMinor())
+                .runningFeeMinor(meter.feeMinor(nowMillis))
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.acme.bida.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Payload pushed to {@code /topic/clubs/{clubId}/tables}. A SNAPSHOT carries every table of the
+ * club, a DELTA only the tables that changed since the previous message. Clients apply deltas
+ * whose version is greater than the snapshot they hold.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TableStatusMessage {
+    
+    private MessageType type;
+    private Long clubId;
+    private long version;
+    private List<TableStatusView> tables;
+    
+    public enum MessageType {
+        SNAPSHOT,
+        DELTA
+    }
+}
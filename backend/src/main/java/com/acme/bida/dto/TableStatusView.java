@@ -0,0 +1,37 @@
+package com.acme.bida.dto;
+
+import com.acme.bida.domain.entity.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TableStatusView {
+    
+    private Long id;
+    private Long clubId;
+    private String name;
+    private Table.TableType type;
+    private Table.TableStatus status;
+    private BigDecimal hourlyRate;
+    private LocalDateTime updatedAt;
+    
+    public static TableStatusView from(Table table) {
+        return TableStatusView.builder()
+                .id(table.getId())
+                .clubId(table.getClubId())
+                .name(table.getName())
+                .type(table.getType())
+                .status(table.getStatus())
+                .hourlyRate(table.getHourlyRate())
+                .updatedAt(table.getUpdatedAt())
+                .build();
+    }
+}
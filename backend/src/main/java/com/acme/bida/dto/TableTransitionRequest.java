@@ -0,0 +1,19 @@
+package com.acme.bida.dto;
+
+import com.acme.bida.domain.entity.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TableTransitionRequest {
+
+    @NotNull(message = "Expected current status is required")
+    private Table.TableStatus from;
+
+    @NotNull(message = "Target status is required")
+    private Table.TableStatus to;
+}
@@ -0,0 +1,12 @@
+package com.acme.bida.dto;
+
+import com.acme.bida.domain.entity.User;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class UpdateUserRoleRequest {
+
+    @NotNull(message = "Role is required")
+    private User.UserRole role;
+}
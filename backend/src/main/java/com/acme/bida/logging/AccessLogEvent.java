@@ -0,0 +1,60 @@
+package com.acme.bida.logging;
+
+/**
+ * One completed HTTP request. {@code route} is the matched handler pattern (e.g.
+ * {@code /tables/{id}/transitions}) so paths with ids do not explode the number of distinct values.
+ */
+public record AccessLogEvent(
+        long timestampMillis,
+        String method,
+        String route,
+        String path,
+        int status,
+        long durationMicros,
+        Long userId,
+        String remoteAddress
+) {
+
+    /** Appends the event as one JSON object, without a trailing newline. */
+    void appendJson(StringBuilder out) {
+        out.append("{\"ts\":").append(timestampMillis)
+                .append(",\"method\":");
+        appendString(out, method);
+        out.append(",\"route\":");
+        appendString(out, route);
+        out.append(",\"path\":");
+        appendString(out, path);
+        out.append(",\"status\":").append(status)
+                .append(",\"durationUs\":").append(durationMicros)
+                .append(",\"userId\":").append(userId)
+                .append(",\"remote\":");
+        appendString(out, remoteAddress);
+        out.append('}');
+    }
+
+    private static void appendString(StringBuilder out, String value) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+}
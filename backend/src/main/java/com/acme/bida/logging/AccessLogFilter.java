@@ -0,0 +1,81 @@
+package com.acme.bida.logging;
+
+import com.acme.bida.auth.AuthenticatedPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Outermost filter: times each request and, after the response status is known, hands a sampled
+ * {@link AccessLogEvent} to the {@link AccessLogWriter}. Everything on the request thread is
+ * allocation-light and lock-free; formatting and disk I/O happen on the writer thread.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    static final String UNMATCHED_ROUTE = "UNMATCHED";
+
+    private final AccessLogWriter writer;
+    private final AccessLogSampler sampler;
+    private final Counter sampledOutCounter;
+
+    public AccessLogFilter(AccessLogWriter writer, AccessLogSampler sampler, MeterRegistry meterRegistry) {
+        this.writer = writer;
+        this.sampler = sampler;
+        this.sampledOutCounter = Counter.builder("access.log.events")
+                .tag("outcome", "sampled_out")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !writer.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long startNanos = System.nanoTime();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            filterChain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            record(request, status, (System.nanoTime() - startNanos) / 1_000);
+        }
+    }
+
+    private void record(HttpServletRequest request, int status, long durationMicros) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : UNMATCHED_ROUTE;
+        if (!sampler.shouldLog(route, status, durationMicros)) {
+            sampledOutCounter.increment();
+            return;
+        }
+        // The security context is already cleared here, so the JWT filter leaves the principal on the request
+        Long userId = request.getAttribute(AuthenticatedPrincipal.REQUEST_ATTRIBUTE) instanceof AuthenticatedPrincipal principal
+                ? principal.id()
+                : null;
+        writer.submit(new AccessLogEvent(
+                System.currentTimeMillis(),
+                request.getMethod(),
+                route,
+                request.getRequestURI(),
+                status,
+                durationMicros,
+                userId,
+                request.getRemoteAddr()));
+    }
+}
@@ -0,0 +1,83 @@
+package com.acme.bida.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free multi-producer, single-consumer ring (Vyukov's sequenced array queue).
+ * Request threads {@link #offer} with one CAS and never block; when the ring is full the event is
+ * refused and the caller counts it as dropped. Only the writer thread may call {@link #drain}.
+ */
+public final class AccessLogRingBuffer {
+
+    private final int mask;
+    private final AtomicReferenceArray<AccessLogEvent> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong enqueuePosition = new AtomicLong();
+    private final AtomicLong dequeuePosition = new AtomicLong();
+
+    public AccessLogRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public boolean offer(AccessLogEvent event) {
+        while (true) {
+            long position = enqueuePosition.get();
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (enqueuePosition.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, event);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+            // Another producer claimed this slot first; reload and retry
+        }
+    }
+
+    /**
+     * Hands up to {@code max} events to {@code sink} in FIFO order and returns how many it took.
+     * Events handed out stay consumed even if the sink throws.
+     */
+    public int drain(Consumer<AccessLogEvent> sink, int max) {
+        int drained = 0;
+        long position = dequeuePosition.get();
+        try {
+            while (drained < max) {
+                int index = (int) (position & mask);
+                if (sequences.get(index) != position + 1) {
+                    break;
+                }
+                AccessLogEvent event = slots.get(index);
+                slots.lazySet(index, null);
+                sequences.set(index, position + mask + 1);
+                position++;
+                drained++;
+                sink.accept(event);
+            }
+        } finally {
+            dequeuePosition.set(position);
+        }
+        return drained;
+    }
+
+    public int size() {
+        long size = enqueuePosition.get() - dequeuePosition.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,79 @@
+package com.acme.bida.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides per route whether a request is written to the access log. Rates come from
+ * {@code access-log.sample-rates} as {@code pattern=rate} pairs matched against the route template
+ * in declaration order; unmatched routes use the default rate. Server errors and slow requests are
+ * always kept, so sampling never hides the requests worth looking at.
+ */
+@Component
+@Slf4j
+public class AccessLogSampler {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, Double> configuredRates;
+    private final double defaultRate;
+    private final long slowThresholdMicros;
+    // Keys are route templates, so the map stays as small as the set of endpoints
+    private final Map<String, Double> ratesByRoute = new ConcurrentHashMap<>();
+
+    public AccessLogSampler(@Value("${access-log.default-sample-rate:1.0}") double defaultRate,
+                            @Value("${access-log.sample-rates:}") String sampleRates,
+                            @Value("${access-log.slow-threshold:1s}") Duration slowThreshold) {
+        this.defaultRate = clamp(defaultRate);
+        this.configuredRates = parse(sampleRates);
+        this.slowThresholdMicros = slowThreshold.toNanos() / 1_000;
+        log.info("Access log sampling: default rate {}, per-route rates {}", this.defaultRate, configuredRates);
+    }
+
+    public boolean shouldLog(String route, int status, long durationMicros) {
+        if (status >= 500 || durationMicros >= slowThresholdMicros) {
+            return true;
+        }
+        double rate = rateFor(route);
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    double rateFor(String route) {
+        return ratesByRoute.computeIfAbsent(route, this::resolveRate);
+    }
+
+    private double resolveRate(String route) {
+        for (Map.Entry<String, Double> entry : configuredRates.entrySet()) {
+            if (pathMatcher.match(entry.getKey(), route)) {
+                return entry.getValue();
+            }
+        }
+        return defaultRate;
+    }
+
+    private static Map<String, Double> parse(String sampleRates) {
+        Map<String, Double> rates = new LinkedHashMap<>();
+        for (String pair : sampleRates.split(",")) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            int separator = pair.lastIndexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid access-log.sample-rates entry: " + pair.trim());
+            }
+            rates.put(pair.substring(0, separator).trim(), clamp(Double.parseDouble(pair.substring(separator + 1).trim())));
+        }
+        return rates;
+    }
+
+    private static double clamp(double rate) {
+        return Math.max(0.0, Math.min(1.0, rate));
+    }
+}
@@ -0,0 +1,182 @@
+package com.acme.bida.logging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Owns the access log ring buffer and the single background thread that empties it. Request
+ * threads only {@link #submit} into the buffer; the writer drains it in batches, appends one JSON
+ * line per event to the log file and flushes once per batch, so disk latency never reaches a
+ * request. When the buffer is full events are dropped and counted instead of blocking.
+ */
+@Component
+@Slf4j
+public class AccessLogWriter implements SmartLifecycle {
+
+    private final AccessLogRingBuffer buffer;
+    private final boolean enabled;
+    private final Path file;
+    private final int batchSize;
+    private final long idleParkNanos;
+    private final Counter enqueuedCounter;
+    private final Counter droppedCounter;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public AccessLogWriter(MeterRegistry meterRegistry,
+                           @Value("${access-log.enabled:true}") boolean enabled,
+                           @Value("${access-log.file:./logs/access.log}") Path file,
+                           @Value("${access-log.buffer-capacity:8192}") int bufferCapacity,
+                           @Value("${access-log.batch-size:512}") int batchSize,
+                           @Value("${access-log.flush-interval:200ms}") Duration flushInterval) {
+        this.buffer = new AccessLogRingBuffer(bufferCapacity);
+        this.enabled = enabled;
+        this.file = file;
+        this.batchSize = Math.max(1, batchSize);
+        this.idleParkNanos = Math.max(1_000_000L, flushInterval.toNanos());
+
+        this.enqueuedCounter = Counter.builder("access.log.events")
+                .tag("outcome", "enqueued")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("access.log.events")
+                .tag("outcome", "dropped")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("access.log.events")
+                .tag("outcome", "written")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("access.log.events")
+                .tag("outcome", "write_failed")
+                .register(meterRegistry);
+        Gauge.builder("access.log.buffer.depth", buffer, AccessLogRingBuffer::size)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Hands the event to the writer thread without blocking.
+     *
+     * @return false when the buffer was full and the event was dropped
+     */
+    public boolean submit(AccessLogEvent event) {
+        if (buffer.offer(event)) {
+            enqueuedCounter.increment();
+            return true;
+        }
+        droppedCounter.increment();
+        return false;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            log.info("Access log disabled");
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "access-log-writer");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Access log writing to {} with buffer capacity {}", file.toAbsolutePath(), buffer.capacity());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Stops after the web server, so requests finishing during shutdown are still written
+        return Integer.MIN_VALUE;
+    }
+
+    private void run() {
+        StringBuilder line = new StringBuilder(256);
+        try (Writer writer = open()) {
+            while (running) {
+                if (writeBatch(writer, line) == 0) {
+                    LockSupport.parkNanos(idleParkNanos);
+                }
+            }
+            // Drain whatever was enqueued before shutdown
+            while (writeBatch(writer, line) > 0) {
+                // keep draining
+            }
+        } catch (IOException e) {
+            log.error("Access log writer stopped", e);
+            running = false;
+        }
+    }
+
+    private int writeBatch(Writer writer, StringBuilder line) {
+        int[] appended = new int[1];
+        int drained = buffer.drain(event -> {
+            // One bad event (a failing toString in a field, an I/O error) costs only that line
+            try {
+                line.setLength(0);
+                event.appendJson(line);
+                line.append('\n');
+                writer.append(line);
+                appended[0]++;
+            } catch (IOException | RuntimeException e) {
+                failedCounter.increment();
+                log.debug("Could not write access log event: {}", e.toString());
+            }
+        }, batchSize);
+        if (appended[0] > 0) {
+            try {
+                writer.flush();
+                writtenCounter.increment(appended[0]);
+            } catch (IOException e) {
+                failedCounter.increment(appended[0]);
+                log.warn("Could not flush access log: {}", e.getMessage());
+            }
+        }
+        return drained;
+    }
+
+    private Writer open() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE), 64 * 1024);
+    }
+}
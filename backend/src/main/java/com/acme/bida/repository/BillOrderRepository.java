@@ -0,0 +1,27 @@
+package com.acme.bida.repository;
+
+import com.acme.bida.domain.entity.BillOrder;
+import com.acme.bida.domain.entity.Order;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BillOrderRepository extends JpaRepository<BillOrder, BillOrder.Key> {
+    List<BillOrder> findByBillId(Long billId);
+    
+    // Links the table's orders placed since `since` that are not cancelled and not yet on a bill, in one
+    // INSERT ... SELECT; the created_at bound keeps older strays off the bill and prunes old partitions
+    @Modifying(flushAutomatically = true)
+    @Query("insert into BillOrder (billId, orderId) " +
+            "select :billId, o.id from Order o " +
+            "where o.tableId = :tableId and o.createdAt >= :since and o.status <> :cancelled " +
+            "and not exists (select 1 from BillOrder bo where bo.orderId = o.id)")
+    int linkUnbilledOrders(@Param("billId") Long billId, @Param("tableId") Long tableId,
+                           @Param("since") LocalDateTime since,
+                           @Param("cancelled") Order.OrderStatus cancelled);
+}
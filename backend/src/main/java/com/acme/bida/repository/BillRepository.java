@@ -1,14 +1,70 @@
 package com.acme.bida.repository;
 
 import com.acme.bida.domain.entity.Bill;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.acme.bida.repository.projection.BillExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface BillRepository extends JpaRepository<Bill, Long> {
+public interface BillRepository extends TenantScopedRepository<Bill, Long> {
     List<Bill> findByTableId(Long tableId);
     List<Bill> findByUserId(Long userId);
     List<Bill> findByStatus(Bill.BillStatus status);
     List<Bill> findByTableIdAndStatus(Long tableId, Bill.BillStatus status);
+    
+    // Bills are partitioned by created_at; the bound lets the planner skip every other month
+    Optional<Bill> findByIdAndCreatedAt(Long id, LocalDateTime createdAt);
+    Optional<Bill> findByIdAndCreatedAtGreaterThanEqual(Long id, LocalDateTime since);
+    
+    // Conditional status change with payment details; returns 0 when the bill is no longer in status `from`
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Bill b set b.status = :to, b.paymentMethod = :method, b.paymentReference = :reference, " +
+            "b.paidAt = :now, b.updatedAt = :now where b.id = :billId and b.createdAt = :createdAt and b.status = :from")
+    int transitionToPaid(@Param("billId") Long billId, @Param("createdAt") LocalDateTime createdAt, @Param("from") Bill.BillStatus from, @Param("to") Bill.BillStatus to,
+                         @Param("method") Bill.PaymentMethod method, @Param("reference") String reference,
+                         @Param("now") LocalDateTime now);
+    
+    // Conditional status change; returns 0 when the bill is no longer in status `from`
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Bill b set b.status = :to, b.updatedAt = :now " +
+            "where b.id = :billId and b.createdAt = :createdAt and b.status = :from")
+    int transitionStatus(@Param("billId") Long billId, @Param("createdAt") LocalDateTime createdAt, @Param("from") Bill.BillStatus from, @Param("to") Bill.BillStatus to,
+                         @Param("now") LocalDateTime now);
+    
+    default int markPaid(Bill bill, Bill.PaymentMethod method, String reference, LocalDateTime now) {
+        return transitionToPaid(bill.getId(), bill.getCreatedAt(), Bill.BillStatus.PENDING, Bill.BillStatus.PAID, method, reference, now);
+    }
+    
+    default int markCancelled(Bill bill, Bill.BillStatus from, LocalDateTime now) {
+        return transitionStatus(bill.getId(), bill.getCreatedAt(), from, Bill.BillStatus.CANCELLED, now);
+    }
+    
+    // Sets the total to the table fee plus the items of every order linked to the bill, aggregated in the database.
+    // The bill and its items were all created after `since` (the session start), which prunes both partitioned tables
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Bill b set b.totalAmount = b.tableFee + " +
+            "coalesce((select sum(i.totalPrice) from OrderItem i, BillOrder bo " +
+            "where bo.billId = b.id and i.orderId = bo.orderId and i.createdAt >= :since), 0), b.updatedAt = :now " +
+            "where b.id = :billId and b.createdAt >= :since")
+    int applyOrderTotals(@Param("billId") Long billId, @Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+    
+    // Unmanaged rows with a JDBC fetch size so exports stream in constant memory; needs an open transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.acme.bida.repository.projection.BillExportRow(b.id, b.tableId, b.bookingId, b.userId, " +
+            "b.tableFee, b.totalAmount, b.status, b.paymentMethod, b.paymentReference, b.createdAt, b.updatedAt) " +
+            "from Bill b where b.clubId = :clubId " +
+            "and b.createdAt >= :from and b.createdAt < :to order by b.id")
+    Stream<BillExportRow> streamExportByClubId(@Param("clubId") Long clubId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
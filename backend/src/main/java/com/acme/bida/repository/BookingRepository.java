@@ -1,15 +1,35 @@
 package com.acme.bida.repository;
 
 import com.acme.bida.domain.entity.Booking;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends TenantScopedRepository<Booking, Long> {
     List<Booking> findByTableId(Long tableId);
     List<Booking> findByUserId(Long userId);
     List<Booking> findByTableIdAndStartTimeBetween(Long tableId, LocalDateTime start, LocalDateTime end);
     List<Booking> findByStatus(Booking.BookingStatus status);
+    List<Booking> findByStatusInAndEndTimeAfter(Collection<Booking.BookingStatus> statuses, LocalDateTime after);
+    
+    // Any booking intersecting [start, end), including ones that started before the window
+    @Query("select count(b) > 0 from Booking b where b.tableId = :tableId and b.status in :statuses " +
+            "and b.startTime < :end and b.endTime > :start")
+    boolean existsOverlapping(@Param("tableId") Long tableId,
+                              @Param("start") LocalDateTime start,
+                              @Param("end") LocalDateTime end,
+                              @Param("statuses") Collection<Booking.BookingStatus> statuses);
+    
+    // Conditional status change; returns 0 when the booking is no longer in status `from`
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = :to, b.updatedAt = :now where b.id = :id and b.status = :from")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("from") Booking.BookingStatus from,
+                         @Param("to") Booking.BookingStatus to,
+                         @Param("now") LocalDateTime now);
 }
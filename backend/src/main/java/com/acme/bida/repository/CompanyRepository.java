@@ -1,11 +1,14 @@
 package com.acme.bida.repository;
 
 import com.acme.bida.domain.entity.Company;
+import com.acme.bida.repository.projection.CompanySummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 
 @Repository
 public interface CompanyRepository extends JpaRepository<Company, Long> {
     // Basic CRUD operations are provided by JpaRepository
-    // Add custom query methods if needed
+    List<CompanySummary> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 }
@@ -0,0 +1,219 @@
+package com.acme.bida.repository;
+
+import com.acme.bida.dto.InvoiceDraft;
+import com.acme.bida.dto.InvoiceExportView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain SQL over {@code invoice_exports}, the persistent queue of invoice drafts waiting for the
+ * accounting systems. Senders lease batches with {@link #claimBatch}; every state change after
+ * that is a single statement, so a crash loses at most the lease, never the draft.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InvoiceExportRepository {
+    
+    public static final String SENT = "SENT";
+    public static final String REJECTED = "REJECTED";
+    public static final String DEAD = "DEAD";
+    
+    private static final RowMapper<InvoiceExportView> VIEW_MAPPER = (rs, rowNum) -> InvoiceExportView.builder()
+            .id(rs.getLong("id"))
+            .clubId(rs.getLong("club_id"))
+            .billId(rs.getLong("bill_id"))
+            .status(rs.getString("status"))
+            .attempts(rs.getInt("attempts"))
+            .nextAttemptAt(rs.getObject("next_attempt_at", OffsetDateTime.class))
+            .externalId(rs.getString("external_id"))
+            .lastError(rs.getString("last_error"))
+            .createdAt(rs.getObject("created_at", OffsetDateTime.class))
+            .sentAt(rs.getObject("sent_at", OffsetDateTime.class))
+            .build();
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Builds the drafts of the given bills from the bills and their linked order items, two
+     * queries however many bills there are. Bills that do not exist are left out.
+     */
+    public List<InvoiceDraft> buildDrafts(Collection<Long> billIds) {
+        Long[] ids = billIds.toArray(Long[]::new);
+        Map<Long, InvoiceDraft> drafts = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "SELECT id, company_id, club_id, table_id, created_at, table_fee, total_amount FROM bills WHERE id = ANY(?) ORDER BY id",
+                rs -> {
+                    long billId = rs.getLong("id");
+                    drafts.put(billId, InvoiceDraft.builder()
+                            .idempotencyKey(InvoiceDraft.idempotencyKeyOf(billId))
+                            .companyId(rs.getLong("company_id"))
+                            .clubId(rs.getLong("club_id"))
+                            .billId(billId)
+                            .tableId(rs.getLong("table_id"))
+                            .issuedAt(rs.getTimestamp("created_at").toLocalDateTime())
+                            .tableFee(rs.getBigDecimal("table_fee"))
+                            .totalAmount(rs.getBigDecimal("total_amount"))
+                            .lines(new ArrayList<>())
+                            .build());
+                },
+                (Object) ids);
+        if (drafts.isEmpty()) {
+            return List.of();
+        }
+        jdbcTemplate.query(
+                "SELECT bo.bill_id, oi.product_id, p.name, SUM(oi.quantity) AS quantity, oi.unit_price, SUM(oi.total_price) AS total_price " +
+                "FROM bill_orders bo " +
+                "JOIN order_items oi ON oi.order_id = bo.order_id " +
+                "JOIN products p ON p.id = oi.product_id " +
+                "WHERE bo.bill_id = ANY(?) " +
+                "GROUP BY bo.bill_id, oi.product_id, p.name, oi.unit_price " +
+                "ORDER BY bo.bill_id, p.name, oi.unit_price",
+                rs -> {
+                    InvoiceDraft draft = drafts.get(rs.getLong("bill_id"));
+                    if (draft != null) {
+                        draft.getLines().add(InvoiceDraft.Line.builder()
+                                .productId(rs.getLong("product_id"))
+                                .description(rs.getString("name"))
+                                .quantity(rs.getInt("quantity"))
+                                .unitPrice(rs.getBigDecimal("unit_price"))
+                                .totalPrice(rs.getBigDecimal("total_price"))
+                                .build());
+                    }
+                },
+                (Object) ids);
+        return new ArrayList<>(drafts.values());
+    }
+    
+    /** Queues drafts; a bill that already has an export is skipped. */
+    public void enqueue(List<QueuedDraft> drafts) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO invoice_exports (company_id, club_id, bill_id, payload) VALUES (?, ?, ?, CAST(? AS JSONB)) " +
+                "ON CONFLICT (bill_id) DO NOTHING",
+                drafts, drafts.size(),
+                (statement, draft) -> {
+                    statement.setLong(1, draft.companyId());
+                    statement.setLong(2, draft.clubId());
+                    statement.setLong(3, draft.billId());
+                    statement.setString(4, draft.payload());
+                });
+    }
+    
+    /** Withdraws exports of cancelled bills that have not been sent yet. */
+    public int cancelUnsent(Collection<Long> billIds) {
+        return jdbcTemplate.update(
+                "UPDATE invoice_exports SET status = 'CANCELLED' WHERE bill_id = ANY(?) AND status IN ('PENDING', 'RETRY')",
+                (Object) billIds.toArray(Long[]::new));
+    }
+    
+    public List<Long> findCompaniesWithDue() {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT company_id FROM invoice_exports " +
+                "WHERE status IN ('PENDING', 'RETRY') AND next_attempt_at <= CURRENT_TIMESTAMP",
+                Long.class);
+    }
+    
+    /**
+     * Leases up to {@code limit} due exports of the company, oldest first, for {@code lease}.
+     * Rows leased by another sender are skipped.
+     */
+    public List<ClaimedExport> claimBatch(Long companyId, int limit, Duration lease) {
+        return jdbcTemplate.query(
+                "UPDATE invoice_exports SET status = 'SENDING', attempts = attempts + 1, " +
+                "lease_expires_at = CURRENT_TIMESTAMP + make_interval(secs => ?) " +
+                "WHERE id IN (SELECT id FROM invoice_exports " +
+                "WHERE company_id = ? AND status IN ('PENDING', 'RETRY') AND next_attempt_at <= CURRENT_TIMESTAMP " +
+                "ORDER BY next_attempt_at, id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+                "RETURNING id, bill_id, attempts, payload",
+                (rs, rowNum) -> new ClaimedExport(rs.getLong("id"), rs.getLong("bill_id"), rs.getInt("attempts"), rs.getString("payload")),
+                lease.toMillis() / 1000.0, companyId, limit);
+    }
+    
+    public void markSent(Map<Long, String> externalIdsByExport, LocalDateTime now) {
+        List<Map.Entry<Long, String>> sent = new ArrayList<>(externalIdsByExport.entrySet());
+        jdbcTemplate.batchUpdate(
+                "UPDATE invoice_exports SET status = 'SENT', external_id = ?, sent_at = ?, lease_expires_at = NULL, last_error = NULL " +
+                "WHERE id = ? AND status = 'SENDING'",
+                sent, sent.size(),
+                (statement, entry) -> {
+                    statement.setString(1, entry.getValue());
+                    statement.setObject(2, now);
+                    statement.setLong(3, entry.getKey());
+                });
+    }
+    
+    public void markRejected(Map<Long, String> errorsByExport) {
+        List<Map.Entry<Long, String>> rejected = new ArrayList<>(errorsByExport.entrySet());
+        jdbcTemplate.batchUpdate(
+                "UPDATE invoice_exports SET status = 'REJECTED', last_error = ?, lease_expires_at = NULL " +
+                "WHERE id = ? AND status = 'SENDING'",
+                rejected, rejected.size(),
+                (statement, entry) -> {
+                    statement.setString(1, entry.getValue());
+                    statement.setLong(2, entry.getKey());
+                });
+    }
+    
+    /**
+     * Returns leased exports to the queue after a failed send, doubling the delay with every
+     * attempt, or moves them to DEAD once they have used {@code maxAttempts}.
+     */
+    public int scheduleRetry(Collection<Long> ids, String error, Duration backoff, int maxAttempts) {
+        return jdbcTemplate.update(
+                "UPDATE invoice_exports SET last_error = ?, lease_expires_at = NULL, " +
+                "status = CASE WHEN attempts >= ? THEN 'DEAD' ELSE 'RETRY' END, " +
+                "next_attempt_at = CURRENT_TIMESTAMP + make_interval(secs => ? * power(2, LEAST(attempts - 1, 10))) " +
+                "WHERE id = ANY(?) AND status = 'SENDING'",
+                error, maxAttempts, backoff.toMillis() / 1000.0, ids.toArray(Long[]::new));
+    }
+    
+    /** Puts exports whose sender died (lease expired while SENDING) back in the queue. */
+    public int releaseExpiredLeases() {
+        return jdbcTemplate.update(
+                "UPDATE invoice_exports SET status = 'RETRY', lease_expires_at = NULL, next_attempt_at = CURRENT_TIMESTAMP, " +
+                "last_error = 'Lease expired while sending' " +
+                "WHERE status = 'SENDING' AND lease_expires_at < CURRENT_TIMESTAMP");
+    }
+    
+    /** Number of exports per status that are not finished yet. */
+    public Map<String, Long> countUnfinished() {
+        Map<String, Long> counts = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT status, COUNT(*) FROM invoice_exports WHERE status IN ('PENDING', 'RETRY', 'SENDING') GROUP BY status",
+                rs -> {
+                    counts.put(rs.getString(1), rs.getLong(2));
+                });
+        return counts;
+    }
+    
+    /** Sends a DEAD or REJECTED export of the company again. */
+    public int requeue(Long id, Long companyId) {
+        return jdbcTemplate.update(
+                "UPDATE invoice_exports SET status = 'PENDING', attempts = 0, next_attempt_at = CURRENT_TIMESTAMP " +
+                "WHERE id = ? AND company_id = ? AND status IN ('DEAD', 'REJECTED')",
+                id, companyId);
+    }
+    
+    public List<InvoiceExportView> findByStatus(String status, Long companyId, long afterId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT * FROM invoice_exports WHERE company_id = ? AND status = ? AND id > ? ORDER BY id LIMIT ?",
+                VIEW_MAPPER, companyId, status, afterId, limit);
+    }
+    
+    public record QueuedDraft(Long companyId, Long clubId, Long billId, String payload) {
+    }
+    
+    public record ClaimedExport(Long id, Long billId, int attempts, String payload) {
+    }
+}
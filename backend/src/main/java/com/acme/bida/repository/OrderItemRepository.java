@@ -1,11 +1,31 @@
 package com.acme.bida.repository;
 
 import com.acme.bida.domain.entity.OrderItem;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.acme.bida.repository.projection.OrderItemExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+public interface OrderItemRepository extends TenantScopedRepository<OrderItem, Long> {
     List<OrderItem> findByOrderId(Long orderId);
+    List<OrderItem> findByOrderIdIn(Collection<Long> orderIds);
+    
+    // Unmanaged rows with a JDBC fetch size so exports stream in constant memory; needs an open transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.acme.bida.repository.projection.OrderItemExportRow(i.id, i.orderId, i.productId, i.quantity, " +
+            "i.unitPrice, i.totalPrice, i.createdAt) " +
+            "from OrderItem i where i.clubId = :clubId " +
+            "and i.createdAt >= :from and i.createdAt < :to order by i.id")
+    Stream<OrderItemExportRow> streamExportByClubId(@Param("clubId") Long clubId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
@@ -1,14 +1,52 @@
 package com.acme.bida.repository;
 
 import com.acme.bida.domain.entity.Order;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.acme.bida.repository.projection.OrderExportRow;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends TenantScopedRepository<Order, Long> {
     List<Order> findByTableId(Long tableId);
     List<Order> findByUserId(Long userId);
-    List<Order> findByStatus(Order.OrderStatus status);
     List<Order> findByTableIdAndStatus(Long tableId, Order.OrderStatus status);
+    
+    // Oldest first; only used to (re)build the in-memory order queues
+    List<Order> findByStatusInOrderByCreatedAtAscIdAsc(Collection<Order.OrderStatus> statuses);
+    
+    // Locks the orders of the club that are still in `from`, in id order so concurrent bulk moves cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o.id from Order o where o.clubId = :clubId and o.status = :from and o.id in :ids order by o.id")
+    List<Long> lockInStatus(@Param("clubId") Long clubId,
+                            @Param("from") Order.OrderStatus from,
+                            @Param("ids") Collection<Long> ids);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("update Order o set o.status = :to, o.updatedAt = :now where o.clubId = :clubId and o.id in :ids")
+    int updateStatus(@Param("clubId") Long clubId,
+                     @Param("ids") Collection<Long> ids,
+                     @Param("to") Order.OrderStatus to,
+                     @Param("now") LocalDateTime now);
+    
+    // Unmanaged rows with a JDBC fetch size so exports stream in constant memory; needs an open transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.acme.bida.repository.projection.OrderExportRow(o.id, o.tableId, o.userId, o.status, " +
+            "o.totalAmount, o.createdAt, o.updatedAt) " +
+            "from Order o where o.clubId = :clubId " +
+            "and o.createdAt >= :from and o.createdAt < :to order by o.id")
+    Stream<OrderExportRow> streamExportByClubId(@Param("clubId") Long clubId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
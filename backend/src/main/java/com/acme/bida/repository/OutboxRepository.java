@@ -0,0 +1,111 @@
+package com.acme.bida.repository;
+
+import com.acme.bida.service.event.DomainEvent;
+import com.acme.bida.service.event.DomainEventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Plain SQL over {@code outbox_events} and the per-club sequence counters. Writes must run in the
+ * transaction of the change the events describe.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+    
+    // First key of the advisory lock a dispatcher holds while publishing one club's events
+    private static final int DISPATCH_LOCK_CLASS = 0x0B0C;
+    
+    private static final RowMapper<DomainEvent> EVENT_MAPPER = (rs, rowNum) -> new DomainEvent(
+            rs.getLong("id"),
+            rs.getLong("club_id"),
+            rs.getObject("company_id", Long.class),
+            rs.getLong("sequence"),
+            DomainEventType.valueOf(rs.getString("event_type")),
+            rs.getLong("aggregate_id"),
+            rs.getString("payload"),
+            rs.getObject("created_at", OffsetDateTime.class));
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Reserves {@code count} consecutive sequence numbers of the club. The counter row stays
+     * locked until the transaction ends.
+     *
+     * @return the last reserved number
+     */
+    public long allocateSequences(Long clubId, int count) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO outbox_club_sequences (club_id, last_sequence) VALUES (?, ?) " +
+                "ON CONFLICT (club_id) DO UPDATE SET last_sequence = outbox_club_sequences.last_sequence + EXCLUDED.last_sequence " +
+                "RETURNING last_sequence",
+                Long.class, clubId, count);
+    }
+    
+    public void insert(List<NewEvent> events) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO outbox_events (club_id, company_id, sequence, event_type, aggregate_id, payload) " +
+                "VALUES (?, ?, ?, ?, ?, CAST(? AS JSONB))",
+                events, events.size(),
+                (statement, event) -> {
+                    statement.setLong(1, event.clubId());
+                    statement.setObject(2, event.companyId());
+                    statement.setLong(3, event.sequence());
+                    statement.setString(4, event.type().name());
+                    statement.setLong(5, event.aggregateId());
+                    statement.setString(6, event.payload());
+                });
+    }
+    
+    public List<Long> findClubsWithUnpublished() {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT club_id FROM outbox_events WHERE published_at IS NULL", Long.class);
+    }
+    
+    /**
+     * Takes the club's dispatch lock for the rest of the transaction unless another dispatcher
+     * holds it.
+     */
+    public boolean tryLockClub(Long clubId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?, CAST(? AS INTEGER))", Boolean.class, DISPATCH_LOCK_CLASS, clubId));
+    }
+    
+    public List<DomainEvent> findUnpublished(Long clubId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT * FROM outbox_events WHERE club_id = ? AND published_at IS NULL ORDER BY sequence LIMIT ?",
+                EVENT_MAPPER, clubId, limit);
+    }
+    
+    public int markPublished(Collection<Long> ids, LocalDateTime now) {
+        return jdbcTemplate.update(
+                "UPDATE outbox_events SET published_at = ? WHERE id = ANY(?)",
+                now, ids.toArray(Long[]::new));
+    }
+    
+    /** Count and age in seconds of the oldest of the events still waiting to be published. */
+    public Backlog backlog() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*), COALESCE(EXTRACT(EPOCH FROM CURRENT_TIMESTAMP - MIN(created_at)), 0) " +
+                "FROM outbox_events WHERE published_at IS NULL",
+                (rs, rowNum) -> new Backlog(rs.getLong(1), rs.getDouble(2)));
+    }
+    
+    public int deletePublishedBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update(
+                "DELETE FROM outbox_events WHERE published_at IS NOT NULL AND published_at < ?", cutoff);
+    }
+    
+    public record NewEvent(Long clubId, Long companyId, long sequence, DomainEventType type, Long aggregateId, String payload) {
+    }
+    
+    public record Backlog(long events, double oldestAgeSeconds) {
+    }
+}
@@ -0,0 +1,185 @@
+package com.acme.bida.repository;
+
+import com.acme.bida.dto.PaymentAttemptView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Plain SQL over {@code payment_attempts}, which doubles as the processor's work queue. Rows due for
+ * processing are claimed with {@code FOR UPDATE SKIP LOCKED}, so several instances can drain the
+ * queue without handing out the same attempt twice. Callers of the claim and apply methods must run
+ * inside one transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PaymentAttemptRepository {
+    
+    public static final String PENDING = "PENDING";
+    public static final String RETRY = "RETRY";
+    public static final String PAID = "PAID";
+    public static final String REJECTED = "REJECTED";
+    public static final String DEAD = "DEAD";
+    
+    private static final RowMapper<PaymentAttemptView> VIEW_MAPPER = (rs, rowNum) -> PaymentAttemptView.builder()
+            .id(rs.getLong("id"))
+            .provider(rs.getString("provider"))
+            .providerTransactionId(rs.getString("provider_transaction_id"))
+            .billId(rs.getLong("bill_id"))
+            .amount(rs.getBigDecimal("amount"))
+            .resultCode(rs.getInt("result_code"))
+            .status(rs.getString("status"))
+            .attempts(rs.getInt("attempts"))
+            .nextAttemptAt(rs.getObject("next_attempt_at", OffsetDateTime.class))
+            .lastError(rs.getString("last_error"))
+            .receivedAt(rs.getObject("received_at", OffsetDateTime.class))
+            .processedAt(rs.getObject("processed_at", OffsetDateTime.class))
+            .build();
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Stores a webhook unless the provider already delivered the same transaction.
+     *
+     * @return 1 when stored, 0 for a redelivery
+     */
+    public int insertIfAbsent(String provider, String providerTransactionId, Long billId, BigDecimal amount,
+                              int resultCode, String payload) {
+        return jdbcTemplate.update(
+                "INSERT INTO payment_attempts (provider, provider_transaction_id, bill_id, amount, result_code, payload) " +
+                "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT (provider, provider_transaction_id) DO NOTHING",
+                provider, providerTransactionId, billId, amount, resultCode, payload);
+    }
+    
+    /** Locks up to {@code limit} due attempts that no other transaction holds, oldest first. */
+    public List<Long> claimDue(int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM payment_attempts WHERE status IN ('PENDING', 'RETRY') AND next_attempt_at <= CURRENT_TIMESTAMP " +
+                "ORDER BY next_attempt_at, id LIMIT ? FOR UPDATE SKIP LOCKED",
+                Long.class, limit);
+    }
+    
+    /** Locks those of {@code ids} that are still due and not held by another transaction. */
+    public List<Long> claimDue(Collection<Long> ids) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM payment_attempts WHERE id = ANY(?) AND status IN ('PENDING', 'RETRY') " +
+                "ORDER BY id FOR UPDATE SKIP LOCKED",
+                Long.class, (Object) array(ids));
+    }
+    
+    /** Finishes attempts the provider reported as failed. Returns their ids. */
+    public List<Long> rejectDeclined(Collection<Long> ids, LocalDateTime now) {
+        return jdbcTemplate.queryForList(
+                "UPDATE payment_attempts SET status = 'REJECTED', attempts = attempts + 1, processed_at = ?, " +
+                "last_error = 'Declined by provider with result code ' || result_code " +
+                "WHERE id = ANY(?) AND result_code <> 0 RETURNING id",
+                Long.class, now, array(ids));
+    }
+    
+    /**
+     * Marks every PENDING bill paid by one of the successful attempts, in one statement. A bill
+     * whose total differs from the paid amount is left alone. When two attempts pay the same bill
+     * only one of them is applied.
+     *
+     * @return the applied attempts with the bill each one paid
+     */
+    public List<AppliedPayment> applyToBills(Collection<Long> ids, LocalDateTime now) {
+        return jdbcTemplate.query(
+                "UPDATE bills b SET status = 'PAID', payment_method = a.provider, payment_reference = a.provider_transaction_id, " +
+                "paid_at = ?, updated_at = ? " +
+                "FROM payment_attempts a " +
+                "WHERE a.id = ANY(?) AND a.result_code = 0 AND b.id = a.bill_id AND b.status = 'PENDING' AND b.total_amount = a.amount " +
+                "RETURNING a.id, b.id, b.club_id, a.provider, b.total_amount",
+                (rs, rowNum) -> new AppliedPayment(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getString(4), rs.getBigDecimal(5)),
+                now, now, array(ids));
+    }
+    
+    public int markPaid(Collection<Long> ids, LocalDateTime now) {
+        return jdbcTemplate.update(
+                "UPDATE payment_attempts SET status = 'PAID', attempts = attempts + 1, processed_at = ?, last_error = NULL " +
+                "WHERE id = ANY(?)",
+                now, array(ids));
+    }
+    
+    /** Bill state of attempts that were neither declined nor applied, to explain why. */
+    public List<UnappliedPayment> findUnapplied(Collection<Long> ids) {
+        return jdbcTemplate.query(
+                "SELECT a.id, a.provider_transaction_id, a.amount, b.id AS bill_id, b.status, b.payment_reference, b.total_amount " +
+                "FROM payment_attempts a LEFT JOIN bills b ON b.id = a.bill_id WHERE a.id = ANY(?)",
+                (rs, rowNum) -> new UnappliedPayment(
+                        rs.getLong("id"),
+                        rs.getString("provider_transaction_id"),
+                        rs.getBigDecimal("amount"),
+                        rs.getObject("bill_id") != null,
+                        rs.getString("status"),
+                        rs.getString("payment_reference"),
+                        rs.getBigDecimal("total_amount")),
+                (Object) array(ids));
+    }
+    
+    /** Sets a terminal status ({@link #PAID} or {@link #REJECTED}) with an optional reason. */
+    public void finish(List<FinishedPayment> payments, LocalDateTime now) {
+        jdbcTemplate.batchUpdate(
+                "UPDATE payment_attempts SET status = ?, last_error = ?, attempts = attempts + 1, processed_at = ? WHERE id = ?",
+                payments, payments.size(),
+                (statement, payment) -> {
+                    statement.setString(1, payment.status());
+                    statement.setString(2, payment.reason());
+                    statement.setObject(3, now);
+                    statement.setLong(4, payment.attemptId());
+                });
+    }
+    
+    /**
+     * Puts an attempt back in the queue after a failure, doubling the delay each time, or moves it
+     * to DEAD once it has used {@code maxAttempts}.
+     */
+    public int scheduleRetry(Long id, String error, Duration backoff, int maxAttempts) {
+        return jdbcTemplate.update(
+                "UPDATE payment_attempts SET attempts = attempts + 1, last_error = ?, " +
+                "status = CASE WHEN attempts + 1 >= ? THEN 'DEAD' ELSE 'RETRY' END, " +
+                "next_attempt_at = CURRENT_TIMESTAMP + make_interval(secs => ? * power(2, LEAST(attempts, 10))) " +
+                "WHERE id = ? AND status IN ('PENDING', 'RETRY')",
+                error, maxAttempts, backoff.toMillis() / 1000.0, id);
+    }
+    
+    /** Sends a DEAD or REJECTED attempt for a bill of the company through the processor again. */
+    public int requeue(Long id, Long companyId) {
+        return jdbcTemplate.update(
+                "UPDATE payment_attempts SET status = 'PENDING', attempts = 0, next_attempt_at = CURRENT_TIMESTAMP, processed_at = NULL " +
+                "WHERE id = ? AND status IN ('DEAD', 'REJECTED') " +
+                "AND bill_id IN (SELECT b.id FROM bills b WHERE b.company_id = ?)",
+                id, companyId);
+    }
+    
+    /** Attempts in {@code status} for bills of the company, in id order after {@code afterId}. */
+    public List<PaymentAttemptView> findByStatus(String status, Long companyId, long afterId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT a.* FROM payment_attempts a " +
+                "WHERE a.status = ? AND a.id > ? AND a.bill_id IN (SELECT b.id FROM bills b WHERE b.company_id = ?) " +
+                "ORDER BY a.id LIMIT ?",
+                VIEW_MAPPER, status, afterId, companyId, limit);
+    }
+    
+    private static Long[] array(Collection<Long> ids) {
+        return ids.toArray(Long[]::new);
+    }
+    
+    public record AppliedPayment(Long attemptId, Long billId, Long clubId, String provider, BigDecimal amount) {
+    }
+    
+    public record UnappliedPayment(Long attemptId, String providerTransactionId, BigDecimal amount, boolean billExists,
+                                   String billStatus, String billReference, BigDecimal billTotal) {
+    }
+    
+    public record FinishedPayment(Long attemptId, String status, String reason) {
+    }
+}
@@ -0,0 +1,147 @@
+package com.acme.bida.repository;
+
+import com.acme.bida.dto.RevenueReportRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Plain SQL over {@code revenue_rollups}. A bill's bucket is computed once, when it is paid, and
+ * stored on the bill ({@code bills.revenue_*}); adding, reversing and rebuilding all read the
+ * stored bucket, so they always agree on where a bill belongs.
+ * Callers must run inside the transaction that changed the bill.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RevenueRollupRepository {
+    
+    // Local date and hour in the club's zone, whatever the session TimeZone; bills paid before the
+    // payment method was recorded count as CASH, as in the V10 backfill
+    private static final String STAMP_BUCKETS =
+            "UPDATE bills b SET revenue_bucket_date = CAST(b.paid_at AT TIME ZONE c.time_zone AS DATE), " +
+            "revenue_bucket_hour = EXTRACT(HOUR FROM b.paid_at AT TIME ZONE c.time_zone), " +
+            "revenue_payment_method = COALESCE(b.payment_method, 'CASH'), revenue_table_type = t.type " +
+            "FROM tables t, clubs c WHERE t.id = b.table_id AND c.id = b.club_id AND b.paid_at IS NOT NULL ";
+    
+    private static final String BUCKET_COLUMNS =
+            "b.club_id, b.company_id, b.revenue_bucket_date, b.revenue_bucket_hour, b.revenue_payment_method, b.revenue_table_type";
+    
+    private static final String UPSERT_BILL =
+            "INSERT INTO revenue_rollups (club_id, company_id, bucket_date, bucket_hour, payment_method, table_type, " +
+            "bill_count, table_fee_total, revenue_total) " +
+            "SELECT " + BUCKET_COLUMNS + ", ?, ? * b.table_fee, ? * b.total_amount " +
+            "FROM bills b WHERE b.id = ? AND b.created_at = ? AND b.revenue_bucket_date IS NOT NULL " +
+            "ON CONFLICT (club_id, bucket_date, bucket_hour, payment_method, table_type) DO UPDATE SET " +
+            "bill_count = revenue_rollups.bill_count + EXCLUDED.bill_count, " +
+            "table_fee_total = revenue_rollups.table_fee_total + EXCLUDED.table_fee_total, " +
+            "revenue_total = revenue_rollups.revenue_total + EXCLUDED.revenue_total, " +
+            "updated_at = CURRENT_TIMESTAMP";
+    
+    // Grouped first, since ON CONFLICT cannot touch the same bucket twice in one statement
+    private static final String UPSERT_BILLS =
+            "INSERT INTO revenue_rollups (club_id, company_id, bucket_date, bucket_hour, payment_method, table_type, " +
+            "bill_count, table_fee_total, revenue_total) " +
+            "SELECT " + BUCKET_COLUMNS + ", COUNT(*), SUM(b.table_fee), SUM(b.total_amount) " +
+            "FROM bills b WHERE b.id = ANY(?) AND b.revenue_bucket_date IS NOT NULL " +
+            "GROUP BY " + BUCKET_COLUMNS + " " +
+            "ON CONFLICT (club_id, bucket_date, bucket_hour, payment_method, table_type) DO UPDATE SET " +
+            "bill_count = revenue_rollups.bill_count + EXCLUDED.bill_count, " +
+            "table_fee_total = revenue_rollups.table_fee_total + EXCLUDED.table_fee_total, " +
+            "revenue_total = revenue_rollups.revenue_total + EXCLUDED.revenue_total, " +
+            "updated_at = CURRENT_TIMESTAMP";
+    
+    private static final String REBUILD =
+            "INSERT INTO revenue_rollups (club_id, company_id, bucket_date, bucket_hour, payment_method, table_type, " +
+            "bill_count, table_fee_total, revenue_total) " +
+            "SELECT " + BUCKET_COLUMNS + ", COUNT(*), SUM(b.table_fee), SUM(b.total_amount) " +
+            "FROM bills b " +
+            "WHERE b.status = 'PAID' AND b.revenue_bucket_date IS NOT NULL AND (CAST(? AS BIGINT) IS NULL OR b.club_id = ?) " +
+            "GROUP BY " + BUCKET_COLUMNS;
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Stamps a freshly PAID bill with its bucket and adds it there. {@code createdAt} is the bill's
+     * stored creation time and limits both statements to the bill's partition.
+     */
+    public int addPaidBill(Long billId, LocalDateTime createdAt) {
+        Timestamp created = Timestamp.valueOf(createdAt);
+        jdbcTemplate.update(STAMP_BUCKETS + "AND b.id = ? AND b.created_at = ?", billId, created);
+        return jdbcTemplate.update(UPSERT_BILL, 1, 1, 1, billId, created);
+    }
+    
+    /** Stamps and adds a batch of freshly PAID bills, one statement each regardless of the batch size. */
+    public int addPaidBills(Collection<Long> billIds) {
+        if (billIds.isEmpty()) {
+            return 0;
+        }
+        Long[] ids = billIds.toArray(Long[]::new);
+        jdbcTemplate.update(STAMP_BUCKETS + "AND b.id = ANY(?)", (Object) ids);
+        return jdbcTemplate.update(UPSERT_BILLS, (Object) ids);
+    }
+    
+    /** Takes a previously PAID bill back out of the bucket stamped on it when it was paid. */
+    public int reversePaidBill(Long billId, LocalDateTime createdAt) {
+        return jdbcTemplate.update(UPSERT_BILL, -1, -1, -1, billId, Timestamp.valueOf(createdAt));
+    }
+    
+    /**
+     * Recomputes the rollups of one club, or of every club when {@code clubId} is null, from the
+     * buckets stamped on PAID bills; bills paid without a stamp get one first. Concurrent
+     * incremental updates wait on the table lock until the rebuild commits.
+     *
+     * @return the number of rollup rows written
+     */
+    public int rebuild(Long clubId) {
+        jdbcTemplate.execute("LOCK TABLE revenue_rollups IN EXCLUSIVE MODE");
+        if (clubId == null) {
+            jdbcTemplate.update("DELETE FROM revenue_rollups");
+        } else {
+            jdbcTemplate.update("DELETE FROM revenue_rollups WHERE club_id = ?", clubId);
+        }
+        jdbcTemplate.update(STAMP_BUCKETS + "AND b.status = 'PAID' AND b.revenue_bucket_date IS NULL " +
+                "AND (CAST(? AS BIGINT) IS NULL OR b.club_id = ?)", clubId, clubId);
+        return jdbcTemplate.update(REBUILD, clubId, clubId);
+    }
+    
+    public List<RevenueReportRow> findDaily(Long clubId, Long companyId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(
+                "SELECT bucket_date, NULL AS bucket_hour, payment_method, table_type, " +
+                "SUM(bill_count) AS bill_count, SUM(table_fee_total) AS table_fee_total, SUM(revenue_total) AS revenue_total " +
+                "FROM revenue_rollups WHERE " + scope(clubId) + " AND bucket_date >= ? AND bucket_date < ? " +
+                "GROUP BY bucket_date, payment_method, table_type ORDER BY bucket_date, payment_method, table_type",
+                ROW_MAPPER, clubId != null ? clubId : companyId, Date.valueOf(from), Date.valueOf(to));
+    }
+    
+    public List<RevenueReportRow> findHourly(Long clubId, Long companyId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(
+                "SELECT bucket_date, bucket_hour, payment_method, table_type, " +
+                "SUM(bill_count) AS bill_count, SUM(table_fee_total) AS table_fee_total, SUM(revenue_total) AS revenue_total " +
+                "FROM revenue_rollups WHERE " + scope(clubId) + " AND bucket_date >= ? AND bucket_date < ? " +
+                "GROUP BY bucket_date, bucket_hour, payment_method, table_type " +
+                "ORDER BY bucket_date, bucket_hour, payment_method, table_type",
+                ROW_MAPPER, clubId != null ? clubId : companyId, Date.valueOf(from), Date.valueOf(to));
+    }
+    
+    private static String scope(Long clubId) {
+        return clubId != null ? "club_id = ?" : "company_id = ?";
+    }
+    
+    private static final RowMapper<RevenueReportRow> ROW_MAPPER = (rs, rowNum) -> RevenueReportRow.builder()
+            .date(rs.getDate("bucket_date").toLocalDate())
+            .hour(rs.getObject("bucket_hour") != null ? rs.getInt("bucket_hour") : null)
+            .paymentMethod(rs.getString("payment_method"))
+            .tableType(rs.getString("table_type"))
+            .billCount(rs.getLong("bill_count"))
+            .tableFeeTotal(rs.getBigDecimal("table_fee_total"))
+            .revenueTotal(rs.getBigDecimal("revenue_total"))
+            .build();
+}
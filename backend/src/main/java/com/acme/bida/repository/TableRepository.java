@@ -1,12 +1,34 @@
 package com.acme.bida.repository;
 
 import com.acme.bida.domain.entity.Table;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TableRepository extends JpaRepository<Table, Long> {
     List<Table> findByClubId(Long clubId);
     List<Table> findByClubIdAndStatus(Long clubId, Table.TableStatus status);
+    
+    // Reads the row from the database, skipping the second-level cache, which a bulk update in the
+    // same transaction only evicts at commit
+    @Query("select t from Table t where t.id = :id")
+    @QueryHints(@QueryHint(name = "jakarta.persistence.cache.retrieveMode", value = "BYPASS"))
+    Optional<Table> findCurrentById(@Param("id") Long id);
+    
+    // Compare-and-set in a single UPDATE; returns 0 when the table is no longer in the expected status.
+    // Clearing the persistence context drops instances loaded before it with the old status
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Table t set t.status = :to, t.updatedAt = :now where t.id = :id and t.status = :from")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("from") Table.TableStatus from,
+                         @Param("to") Table.TableStatus to,
+                         @Param("now") LocalDateTime now);
 }
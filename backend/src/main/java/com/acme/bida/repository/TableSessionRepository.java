@@ -0,0 +1,14 @@
+package com.acme.bida.repository;
+
+import com.acme.bida.domain.entity.TableSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TableSessionRepository extends JpaRepository<TableSession, Long> {
+    Optional<TableSession> findByTableIdAndStatusIn(Long tableId, Collection<TableSession.SessionStatus> statuses);
+    List<TableSession> findByStatusIn(Collection<TableSession.SessionStatus> statuses);
+}
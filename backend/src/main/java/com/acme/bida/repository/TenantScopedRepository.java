@@ -0,0 +1,31 @@
+package com.acme.bida.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Base for repositories of club-owned rows ({@code clubId}, {@code companyId}, {@code createdAt}).
+ * The tenant is taken from the authenticated {@link com.acme.bida.auth.AuthenticatedPrincipal},
+ * never from the caller's arguments, and a principal without a club or company matches nothing.
+ * Every query is served by the {@code (club_id, ...)} / {@code (company_id, created_at)} indexes.
+ */
+@NoRepositoryBean
+public interface TenantScopedRepository<T, ID> extends JpaRepository<T, ID> {
+    
+    @Query("select e from #{#entityName} e where e.id = :id and e.clubId = :#{principal.clubId()}")
+    Optional<T> findByIdInCallerClub(@Param("id") ID id);
+    
+    @Query("select e from #{#entityName} e where e.clubId = :#{principal.clubId()} " +
+            "and e.createdAt >= :from and e.createdAt < :to order by e.createdAt")
+    List<T> findInCallerClubCreatedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Query("select e from #{#entityName} e where e.companyId = :#{principal.companyId()} " +
+            "and e.createdAt >= :from and e.createdAt < :to order by e.createdAt")
+    List<T> findInCallerCompanyCreatedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,17 @@
+package com.acme.bida.repository;
+
+import com.acme.bida.domain.entity.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+    
+    @Modifying
+    @Query("delete from TokenRevocation r where r.revokedBefore < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
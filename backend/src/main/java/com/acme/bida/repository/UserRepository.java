@@ -1,6 +1,8 @@
 package com.acme.bida.repository;
 
 import com.acme.bida.domain.entity.User;
+import com.acme.bida.repository.projection.UserSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import java.util.List;
@@ -13,4 +15,5 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByCompanyId(Long companyId);
     List<User> findByClubId(Long clubId);
     List<User> findByCompanyIdAndRole(Long companyId, User.UserRole role);
+    List<UserSummary> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 }
@@ -0,0 +1,35 @@
+package com.acme.bida.repository.projection;
+
+import com.acme.bida.domain.entity.Bill;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat, unmanaged bill row for streaming exports.
+ */
+public record BillExportRow(
+        Long id,
+        Long tableId,
+        Long bookingId,
+        Long userId,
+        BigDecimal tableFee,
+        BigDecimal totalAmount,
+        Bill.BillStatus status,
+        Bill.PaymentMethod paymentMethod,
+        String paymentReference,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) implements ExportRow {
+
+    public static final String[] CSV_HEADER = {
+            "id", "table_id", "booking_id", "user_id", "table_fee", "total_amount",
+            "status", "payment_method", "payment_reference", "created_at", "updated_at"
+    };
+
+    @Override
+    public Object[] csvValues() {
+        return new Object[]{id, tableId, bookingId, userId, tableFee, totalAmount,
+                status, paymentMethod, paymentReference, createdAt, updatedAt};
+    }
+}
@@ -0,0 +1,15 @@
+package com.acme.bida.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a company for listings.
+ */
+public interface CompanySummary {
+    Long getId();
+    String getName();
+    String getAddress();
+    String getPhone();
+    String getEmail();
+    LocalDateTime getCreatedAt();
+}
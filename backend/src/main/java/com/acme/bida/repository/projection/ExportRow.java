@@ -0,0 +1,8 @@
+package com.acme.bida.repository.projection;
+
+/**
+ * A row that can be written by the streaming export as CSV, in the order of its header.
+ */
+public interface ExportRow {
+    Object[] csvValues();
+}
@@ -0,0 +1,29 @@
+package com.acme.bida.repository.projection;
+
+import com.acme.bida.domain.entity.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat, unmanaged order row for streaming exports.
+ */
+public record OrderExportRow(
+        Long id,
+        Long tableId,
+        Long userId,
+        Order.OrderStatus status,
+        BigDecimal totalAmount,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) implements ExportRow {
+
+    public static final String[] CSV_HEADER = {
+            "id", "table_id", "user_id", "status", "total_amount", "created_at", "updated_at"
+    };
+
+    @Override
+    public Object[] csvValues() {
+        return new Object[]{id, tableId, userId, status, totalAmount, createdAt, updatedAt};
+    }
+}
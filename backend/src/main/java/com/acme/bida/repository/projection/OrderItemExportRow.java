@@ -0,0 +1,27 @@
+package com.acme.bida.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat, unmanaged order item row for streaming exports.
+ */
+public record OrderItemExportRow(
+        Long id,
+        Long orderId,
+        Long productId,
+        Integer quantity,
+        BigDecimal unitPrice,
+        BigDecimal totalPrice,
+        LocalDateTime createdAt
+) implements ExportRow {
+
+    public static final String[] CSV_HEADER = {
+            "id", "order_id", "product_id", "quantity", "unit_price", "total_price", "created_at"
+    };
+
+    @Override
+    public Object[] csvValues() {
+        return new Object[]{id, orderId, productId, quantity, unitPrice, totalPrice, createdAt};
+    }
+}
@@ -0,0 +1,19 @@
+package com.acme.bida.repository.projection;
+
+import com.acme.bida.domain.entity.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a user for listings. Deliberately excludes the password hash.
+ */
+public interface UserSummary {
+    Long getId();
+    String getUsername();
+    String getEmail();
+    User.UserRole getRole();
+    Long getCompanyId();
+    Long getClubId();
+    Boolean getIsActive();
+    LocalDateTime getCreatedAt();
+}
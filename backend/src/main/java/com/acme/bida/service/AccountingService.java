@@ -0,0 +1,28 @@
+package com.acme.bida.service;
+
+import com.acme.bida.dto.InvoiceDraft;
+
+import java.util.List;
+
+/**
+ * Adapter to a company's accounting / e-invoice system. Implementations send one batch per call
+ * and report each draft's outcome; the queue, batching, retries and per-company concurrency
+ * limits live in {@link InvoiceExportProcessor}, so an adapter only deals with the wire format.
+ */
+public interface AccountingService {
+
+    /**
+     * Submits drafts of one company in a single request.
+     *
+     * @return one result per draft the system answered for; drafts without a result are retried
+     * @throws AccountingUnavailableException when the request failed as a whole and may be retried
+     */
+    List<InvoiceResult> submit(Long companyId, List<InvoiceDraft> drafts);
+
+    /**
+     * Outcome of one draft: {@code externalId} is the invoice number assigned when accepted,
+     * {@code error} the reason when rejected.
+     */
+    record InvoiceResult(String idempotencyKey, boolean accepted, String externalId, String error) {
+    }
+}
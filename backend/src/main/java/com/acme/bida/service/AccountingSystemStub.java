@@ -0,0 +1,104 @@
+package com.acme.bida.service;
+
+import com.acme.bida.dto.InvoiceDraft;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for a company's accounting system, for throughput and failure testing of the
+ * invoice export. Each request takes {@code accounting.stub.latency}, fails as a whole with
+ * probability {@code failure-rate} and rejects single invoices with probability
+ * {@code reject-rate}. Invoice numbers are remembered per idempotency key, so repeats get the
+ * same number and are counted as duplicates. The highest number of concurrent requests seen
+ * per company shows whether the in-flight limit holds. Only enabled with
+ * {@code accounting.stub.enabled}.
+ */
+@Service
+@ConditionalOnProperty(name = "accounting.stub.enabled", havingValue = "true")
+@Slf4j
+public class AccountingSystemStub {
+    
+    private final Duration latency;
+    private final double failureRate;
+    private final double rejectRate;
+    private final Map<String, String> invoiceNumbers = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> maxInFlight = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failedRequests = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong nextInvoiceNumber = new AtomicLong();
+    
+    public AccountingSystemStub(@Value("${accounting.stub.latency:200ms}") Duration latency,
+                                @Value("${accounting.stub.failure-rate:0.0}") double failureRate,
+                                @Value("${accounting.stub.reject-rate:0.0}") double rejectRate) {
+        this.latency = latency;
+        this.failureRate = failureRate;
+        this.rejectRate = rejectRate;
+    }
+    
+    /**
+     * Accepts or rejects every invoice of the batch.
+     *
+     * @return empty when the whole request fails
+     */
+    public Optional<List<Map<String, Object>>> receive(Long companyId, List<InvoiceDraft> invoices) throws InterruptedException {
+        requests.incrementAndGet();
+        AtomicInteger current = inFlight.computeIfAbsent(companyId, id -> new AtomicInteger());
+        maxInFlight.computeIfAbsent(companyId, id -> new AtomicInteger()).accumulateAndGet(current.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(latency.toMillis());
+            if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+                failedRequests.incrementAndGet();
+                return Optional.empty();
+            }
+            List<Map<String, Object>> results = new ArrayList<>(invoices.size());
+            for (InvoiceDraft invoice : invoices) {
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("idempotencyKey", invoice.getIdempotencyKey());
+                String number = invoiceNumbers.get(invoice.getIdempotencyKey());
+                if (number != null) {
+                    duplicates.incrementAndGet();
+                } else if (ThreadLocalRandom.current().nextDouble() < rejectRate) {
+                    result.put("status", "REJECTED");
+                    result.put("error", "Rejected by stub");
+                    results.add(result);
+                    continue;
+                } else {
+                    number = invoiceNumbers.computeIfAbsent(invoice.getIdempotencyKey(),
+                            key -> String.format("STUB-%08d", nextInvoiceNumber.incrementAndGet()));
+                }
+                result.put("status", "ACCEPTED");
+                result.put("invoiceNumber", number);
+                results.add(result);
+            }
+            return Optional.of(results);
+        } finally {
+            current.decrementAndGet();
+        }
+    }
+    
+    public Map<String, Object> stats() {
+        Map<Long, Integer> maxByCompany = new LinkedHashMap<>();
+        maxInFlight.forEach((companyId, max) -> maxByCompany.put(companyId, max.get()));
+        return Map.of(
+                "requests", requests.get(),
+                "failedRequests", failedRequests.get(),
+                "invoices", invoiceNumbers.size(),
+                "duplicates", duplicates.get(),
+                "maxInFlightByCompany", maxByCompany);
+    }
+}
@@ -0,0 +1,18 @@
+package com.acme.bida.service;
+
+/**
+ * Thrown by an {@link AccountingService} when a whole batch could not be delivered (timeout,
+ * connection failure, 5xx or throttling), so every draft in it should be retried later.
+ */
+public class AccountingUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public AccountingUnavailableException(String message) {
+        super(message);
+    }
+
+    public AccountingUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -5,9 +5,13 @@ import com.acme.bida.dto.LoginRequest;
 import com.acme.bida.dto.LoginResponse;
 import com.acme.bida.repository.UserRepository;
 import com.acme.bida.auth.JwtUtil;
+import com.acme.bida.auth.RefreshResult;
+import com.acme.bida.auth.RefreshTokenService;
+import com.acme.bida.auth.VerifiedToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -18,19 +22,48 @@ import java.util.Optional;
 public class AuthService {
     
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtUtil jwtUtil;
+    private final RefreshTokenService refreshTokenService;
+    private final MeterRegistry meterRegistry;
     
     public Optional<LoginResponse> authenticate(LoginRequest request) {
-        return userRepository.findByUsername(request.getUsername())
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Optional<LoginResponse> response = userRepository.findByUsername(request.getUsername())
                 .filter(user -> user.getIsActive())
-                .filter(user -> passwordEncoder.matches(request.getPassword(), user.getPasswordHash()))
-                .map(this::generateLoginResponse);
+                .filter(user -> passwordHashingService.matches(request.getPassword(), user.getPasswordHash()))
+                .map(user -> {
+                    rehashIfNeeded(user, request.getPassword());
+                    return generateLoginResponse(user);
+                });
+        sample.stop(meterRegistry.timer("auth.login", "outcome", response.isPresent() ? "success" : "failure"));
+        return response;
     }
     
     public LoginResponse generateLoginResponse(User user) {
+        return buildLoginResponse(user, refreshTokenService.issue(user.getId()));
+    }
+    
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token, without BCrypt.
+     * Empty when the token is unknown, expired, reused or belongs to an inactive user.
+     */
+    public Optional<LoginResponse> refresh(String refreshToken) {
+        RefreshResult result = refreshTokenService.rotate(refreshToken);
+        meterRegistry.counter("auth.refresh", "outcome", result.outcome().name().toLowerCase()).increment();
+        if (result.outcome() != RefreshResult.Outcome.ROTATED) {
+            return Optional.empty();
+        }
+        Optional<User> user = userRepository.findById(result.userId()).filter(User::getIsActive);
+        if (user.isEmpty()) {
+            refreshTokenService.revokeAll(result.userId());
+            return Optional.empty();
+        }
+        return Optional.of(buildLoginResponse(user.get(), result.refreshToken()));
+    }
+    
+    private LoginResponse buildLoginResponse(User user, String refreshToken) {
         String accessToken = jwtUtil.generateToken(user.getUsername(), user.getId(), user.getRole().name());
-        String refreshToken = jwtUtil.generateRefreshToken(user.getUsername(), user.getId());
         
         return LoginResponse.builder()
                 .accessToken(accessToken)
@@ -41,15 +74,26 @@ public class AuthService {
     }
     
     public Optional<User> validateToken(String token) {
-        if (!jwtUtil.validateToken(token)) {
-            return Optional.empty();
-        }
-        
-        String username = jwtUtil.extractUsername(token);
-        return userRepository.findByUsername(username)
+        return jwtUtil.verify(token)
+                .map(VerifiedToken::subject)
+                .flatMap(userRepository::findByUsername)
                 .filter(User::getIsActive);
     }
     
+    private void rehashIfNeeded(User user, String rawPassword) {
+        if (!passwordHashingService.needsRehash(user.getPasswordHash())) {
+            return;
+        }
+        try {
+            user.setPasswordHash(passwordHashingService.encode(rawPassword));
+            userRepository.save(user);
+            log.info("Upgraded password hash for user: {}", user.getUsername());
+        } catch (RuntimeException e) {
+            // The login already succeeded; the hash is upgraded on a later login instead
+            log.warn("Could not upgrade password hash for user {}: {}", user.getUsername(), e.getMessage());
+        }
+    }
+    
     private LoginResponse.UserInfo mapToUserInfo(User user) {
         return LoginResponse.UserInfo.builder()
                 .id(user.getId())
@@ -0,0 +1,20 @@
+package com.acme.bida.service;
+
+import com.acme.bida.domain.entity.Bill;
+
+/**
+ * Outcome of closing a table's bill; {@code bill} is set and {@code orderCount} holds the number
+ * of orders put on it when the close was applied.
+ */
+public record BillCloseResult(Outcome outcome, Bill bill, int orderCount) {
+
+    public enum Outcome {
+        APPLIED,
+        TABLE_NOT_OCCUPIED,
+        NOT_FOUND
+    }
+
+    public static BillCloseResult of(Outcome outcome) {
+        return new BillCloseResult(outcome, null, 0);
+    }
+}
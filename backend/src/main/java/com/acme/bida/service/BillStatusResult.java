@@ -0,0 +1,20 @@
+package com.acme.bida.service;
+
+import com.acme.bida.domain.entity.Bill;
+
+/**
+ * Outcome of a bill payment or cancellation; {@code bill} is the bill after the attempt and is
+ * null only for NOT_FOUND.
+ */
+public record BillStatusResult(Outcome outcome, Bill bill) {
+
+    public enum Outcome {
+        APPLIED,
+        CONFLICT,
+        NOT_FOUND
+    }
+
+    public boolean applied() {
+        return outcome == Outcome.APPLIED;
+    }
+}
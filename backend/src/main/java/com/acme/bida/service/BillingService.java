@@ -0,0 +1,129 @@
+package com.acme.bida.service;
+
+import com.acme.bida.domain.entity.Bill;
+import com.acme.bida.domain.entity.Order;
+import com.acme.bida.domain.entity.Table;
+import com.acme.bida.repository.BillOrderRepository;
+import com.acme.bida.repository.BillRepository;
+import com.acme.bida.repository.RevenueRollupRepository;
+import com.acme.bida.service.event.DomainEventType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Closes a table's bill with a fixed number of set-based statements regardless of how many
+ * orders the table has: free the table, stop its session, insert the bill, link the orders placed
+ * since the session started with one INSERT ... SELECT and compute the total with one aggregate UPDATE.
+ * <p>
+ * Payment and cancellation are conditional updates that move the bill's revenue into or out
+ * of {@code revenue_rollups} in the same transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BillingService {
+    
+    private final BillRepository billRepository;
+    private final BillOrderRepository billOrderRepository;
+    private final TableService tableService;
+    private final TableSessionService tableSessionService;
+    private final TenantKeyResolver tenantKeyResolver;
+    private final RevenueRollupRepository revenueRollupRepository;
+    private final OutboxWriter outboxWriter;
+    
+    // How far back orders are picked up when the table had no session to take the start from
+    @Value("${billing.unbilled-orders-window:12h}")
+    private Duration unbilledOrdersWindow;
+    
+    @Transactional
+    public BillCloseResult closeBill(Long tableId, Long bookingId, Long userId) {
+        // The conditional transition is also the guard against two cashiers closing the same table
+        TableTransitionResult transition = tableService.transition(tableId, Table.TableStatus.OCCUPIED, Table.TableStatus.AVAILABLE);
+        if (transition.outcome() == TableTransitionResult.Outcome.NOT_FOUND) {
+            return BillCloseResult.of(BillCloseResult.Outcome.NOT_FOUND);
+        }
+        if (!transition.applied()) {
+            return BillCloseResult.of(BillCloseResult.Outcome.TABLE_NOT_OCCUPIED);
+        }
+        
+        TableSessionResult session = tableSessionService.stop(tableId);
+        BigDecimal tableFee = session.session() != null ? session.session().getTableFee() : BigDecimal.ZERO;
+        LocalDateTime ordersSince = session.session() != null
+                ? session.session().getStartedAt()
+                : LocalDateTime.now().minus(unbilledOrdersWindow);
+        
+        Bill bill = billRepository.save(Bill.builder()
+                .tableId(tableId)
+                .clubId(transition.table().getClubId())
+                .companyId(tenantKeyResolver.companyIdOf(transition.table().getClubId()))
+                .bookingId(bookingId)
+                .userId(userId)
+                .tableFee(tableFee)
+                .totalAmount(tableFee)
+                .status(Bill.BillStatus.PENDING)
+                .build());
+        int orderCount = billOrderRepository.linkUnbilledOrders(bill.getId(), tableId, ordersSince, Order.OrderStatus.CANCELLED);
+        billRepository.applyOrderTotals(bill.getId(), ordersSince, LocalDateTime.now());
+        
+        Bill closed = billRepository.findByIdAndCreatedAtGreaterThanEqual(bill.getId(), ordersSince).orElseThrow();
+        outboxWriter.append(DomainEventType.BILL_CLOSED, closed.getClubId(), closed.getId(), Map.of(
+                "billId", closed.getId(),
+                "tableId", tableId,
+                "totalAmount", closed.getTotalAmount(),
+                "orderCount", orderCount));
+        log.debug("Closed bill {} for table {} with {} order(s), total {}", closed.getId(), tableId, orderCount, closed.getTotalAmount());
+        return new BillCloseResult(BillCloseResult.Outcome.APPLIED, closed, orderCount);
+    }
+    
+    /**
+     * Pays a PENDING bill. {@code bill} is the caller's stored copy; its id and creation time
+     * address the row, so every statement only touches the bill's own partition.
+     */
+    @Transactional
+    public BillStatusResult pay(Bill bill, Bill.PaymentMethod method, String reference) {
+        Long billId = bill.getId();
+        if (billRepository.markPaid(bill, method, reference, LocalDateTime.now()) == 0) {
+            return billRepository.findByIdAndCreatedAt(billId, bill.getCreatedAt())
+                    .map(current -> new BillStatusResult(BillStatusResult.Outcome.CONFLICT, current))
+                    .orElse(new BillStatusResult(BillStatusResult.Outcome.NOT_FOUND, null));
+        }
+        revenueRollupRepository.addPaidBill(billId, bill.getCreatedAt());
+        Bill paid = billRepository.findByIdAndCreatedAt(billId, bill.getCreatedAt()).orElseThrow();
+        outboxWriter.append(DomainEventType.BILL_PAID, paid.getClubId(), billId, Map.of(
+                "billId", billId,
+                "paymentMethod", method,
+                "totalAmount", paid.getTotalAmount()));
+        return new BillStatusResult(BillStatusResult.Outcome.APPLIED, paid);
+    }
+    
+    /**
+     * Cancels a PENDING or PAID bill. A PAID bill's revenue is taken back out of the bucket it
+     * was added to. {@code bill} is the caller's stored copy; the conditional update rejects it
+     * if the status changed since it was read.
+     */
+    @Transactional
+    public BillStatusResult cancel(Bill bill) {
+        Long billId = bill.getId();
+        Bill.BillStatus from = bill.getStatus();
+        if (from == Bill.BillStatus.CANCELLED
+                || billRepository.markCancelled(bill, from, LocalDateTime.now()) == 0) {
+            return new BillStatusResult(BillStatusResult.Outcome.CONFLICT,
+                    billRepository.findByIdAndCreatedAt(billId, bill.getCreatedAt()).orElse(bill));
+        }
+        if (from == Bill.BillStatus.PAID) {
+            revenueRollupRepository.reversePaidBill(billId, bill.getCreatedAt());
+        }
+        outboxWriter.append(DomainEventType.BILL_CANCELLED, bill.getClubId(), billId,
+                Map.of("billId", billId, "previousStatus", from));
+        return new BillStatusResult(BillStatusResult.Outcome.APPLIED,
+                billRepository.findByIdAndCreatedAt(billId, bill.getCreatedAt()).orElseThrow());
+    }
+}
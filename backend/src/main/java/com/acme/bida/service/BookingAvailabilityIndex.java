@@ -0,0 +1,194 @@
+package com.acme.bida.service;
+
+import com.acme.bida.domain.entity.Booking;
+import com.acme.bida.domain.entity.Table;
+import com.acme.bida.repository.BookingRepository;
+import com.acme.bida.repository.TableRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory interval index of active (PENDING/CONFIRMED) bookings per club and table.
+ * Each table keeps its bookings ordered by start time; since they never overlap, a conflict
+ * check only needs the neighbouring entries and runs in O(log n) without touching the database.
+ * The index is rebuilt from the bookings table at startup and updated by {@link BookingService}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingAvailabilityIndex {
+
+    public static final List<Booking.BookingStatus> ACTIVE_STATUSES =
+            List.of(Booking.BookingStatus.PENDING, Booking.BookingStatus.CONFIRMED);
+
+    private final TableRepository tableRepository;
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, TableSlots> tables = new ConcurrentHashMap<>();
+    private final Map<Long, Map<Long, TableSlots>> tablesByClub = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        tables.clear();
+        tablesByClub.clear();
+        tableRepository.findAll().forEach(this::register);
+
+        List<Booking> active = bookingRepository.findByStatusInAndEndTimeAfter(ACTIVE_STATUSES, LocalDateTime.now());
+        for (Booking booking : active) {
+            slotsFor(booking.getTableId()).ifPresent(slots -> {
+                slots.lock.lock();
+                try {
+                    slots.add(booking.getId(), booking.getStartTime(), booking.getEndTime());
+                } finally {
+                    slots.lock.unlock();
+                }
+            });
+        }
+        log.info("Booking availability index built with {} tables and {} active bookings", tables.size(), active.size());
+    }
+
+    public boolean isFree(Long tableId, LocalDateTime start, LocalDateTime end) {
+        return slotsFor(tableId)
+                .map(slots -> {
+                    slots.lock.lock();
+                    try {
+                        return slots.isFree(toEpoch(start), toEpoch(end));
+                    } finally {
+                        slots.lock.unlock();
+                    }
+                })
+                .orElse(false);
+    }
+
+    public List<AvailableTable> findFreeTables(Long clubId, Table.TableType type, LocalDateTime start, LocalDateTime end) {
+        long from = toEpoch(start);
+        long to = toEpoch(end);
+        List<AvailableTable> free = new ArrayList<>();
+        for (TableSlots slots : tablesByClub.getOrDefault(clubId, Map.of()).values()) {
+            if (type != null && slots.type != type) {
+                continue;
+            }
+            slots.lock.lock();
+            try {
+                if (slots.isFree(from, to)) {
+                    free.add(new AvailableTable(slots.tableId, slots.name, slots.type));
+                }
+            } finally {
+                slots.lock.unlock();
+            }
+        }
+        free.sort((a, b) -> Long.compare(a.tableId(), b.tableId()));
+        return free;
+    }
+
+    /**
+     * Returns the table's slots, whose lock callers hold to make a check-and-insert atomic.
+     */
+    Optional<TableSlots> slotsFor(Long tableId) {
+        TableSlots slots = tables.get(tableId);
+        if (slots != null) {
+            return Optional.of(slots);
+        }
+        // Tables created after startup are registered on first use
+        return tableRepository.findById(tableId).map(this::register);
+    }
+
+    void add(TableSlots slots, Booking booking) {
+        slots.add(booking.getId(), booking.getStartTime(), booking.getEndTime());
+    }
+
+    public void remove(Booking booking) {
+        slotsFor(booking.getTableId()).ifPresent(slots -> {
+            slots.lock.lock();
+            try {
+                slots.remove(booking.getId(), toEpoch(booking.getStartTime()));
+            } finally {
+                slots.lock.unlock();
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${bookings.index.prune-interval:3600000}")
+    public void pruneFinishedBookings() {
+        long now = toEpoch(LocalDateTime.now());
+        tables.values().forEach(slots -> {
+            slots.lock.lock();
+            try {
+                slots.byStart.headMap(now).values().removeIf(slot -> slot.end <= now);
+            } finally {
+                slots.lock.unlock();
+            }
+        });
+    }
+
+    private TableSlots register(Table table) {
+        TableSlots slots = tables.computeIfAbsent(table.getId(),
+                id -> new TableSlots(table.getId(), table.getName(), table.getType()));
+        tablesByClub.computeIfAbsent(table.getClubId(), id -> new ConcurrentHashMap<>())
+                .put(table.getId(), slots);
+        return slots;
+    }
+
+    static long toEpoch(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    public record AvailableTable(Long tableId, String name, Table.TableType type) {
+    }
+
+    /**
+     * Non-overlapping bookings of one table keyed by start time. Guarded by {@link #lock} rather
+     * than its monitor: {@link BookingService} holds it across database calls, and blocking inside
+     * a synchronized block would pin a virtual thread to its carrier.
+     */
+    static final class TableSlots {
+        final ReentrantLock lock = new ReentrantLock();
+        private final Long tableId;
+        private final String name;
+        private final Table.TableType type;
+        private final TreeMap<Long, Slot> byStart = new TreeMap<>();
+
+        private TableSlots(Long tableId, String name, Table.TableType type) {
+            this.tableId = tableId;
+            this.name = name;
+            this.type = type;
+        }
+
+        boolean isFree(long start, long end) {
+            Map.Entry<Long, Slot> before = byStart.floorEntry(start);
+            if (before != null && before.getValue().end > start) {
+                return false;
+            }
+            Map.Entry<Long, Slot> after = byStart.ceilingEntry(start);
+            return after == null || after.getKey() >= end;
+        }
+
+        private void add(Long bookingId, LocalDateTime start, LocalDateTime end) {
+            byStart.put(toEpoch(start), new Slot(bookingId, toEpoch(end)));
+        }
+
+        private void remove(Long bookingId, long start) {
+            Slot slot = byStart.get(start);
+            if (slot != null && slot.bookingId.equals(bookingId)) {
+                byStart.remove(start);
+            }
+        }
+    }
+
+    private record Slot(Long bookingId, long end) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.acme.bida.service;
+
+import com.acme.bida.domain.entity.Booking;
+
+/**
+ * Outcome of a booking write; {@code booking} is set for CREATED and UPDATED.
+ */
+public record BookingResult(Outcome outcome, Booking booking) {
+
+    public enum Outcome {
+        CREATED,
+        UPDATED,
+        CONFLICT,
+        INVALID_STATUS,
+        NOT_FOUND
+    }
+}
@@ -0,0 +1,129 @@
+package com.acme.bida.service;
+
+import com.acme.bida.domain.entity.Booking;
+import com.acme.bida.domain.entity.Table;
+import com.acme.bida.repository.BookingRepository;
+import com.acme.bida.repository.TableRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingService {
+    
+    // exclusion_violation, raised by the bookings_no_overlap constraint
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    
+    private final BookingRepository bookingRepository;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final TableRepository tableRepository;
+    private final TenantKeyResolver tenantKeyResolver;
+    
+    public boolean isFree(Long tableId, LocalDateTime start, LocalDateTime end) {
+        return availabilityIndex.isFree(tableId, start, end);
+    }
+    
+    public List<BookingAvailabilityIndex.AvailableTable> findFreeTables(Long clubId, Table.TableType type,
+                                                                        LocalDateTime start, LocalDateTime end) {
+        return availabilityIndex.findFreeTables(clubId, type, start, end);
+    }
+    
+    /**
+     * Creates a PENDING booking unless it overlaps an active booking of the same table.
+     * The table's slots stay locked until the insert has committed, so two overlapping
+     * requests to this instance are decided without a database round trip; the
+     * bookings_no_overlap constraint rejects overlaps from other instances or writers.
+     */
+    public BookingResult create(Long tableId, Long userId, LocalDateTime start, LocalDateTime end) {
+        Table table = tableRepository.findById(tableId).orElse(null);
+        if (table == null) {
+            return new BookingResult(BookingResult.Outcome.NOT_FOUND, null);
+        }
+        Long companyId = tenantKeyResolver.companyIdOf(table.getClubId());
+        return availabilityIndex.slotsFor(tableId)
+                .map(slots -> {
+                    slots.lock.lock();
+                    try {
+                        if (!slots.isFree(BookingAvailabilityIndex.toEpoch(start), BookingAvailabilityIndex.toEpoch(end))
+                                || bookingRepository.existsOverlapping(tableId, start, end, BookingAvailabilityIndex.ACTIVE_STATUSES)) {
+                            return new BookingResult(BookingResult.Outcome.CONFLICT, null);
+                        }
+                        Booking booking;
+                        try {
+                            booking = bookingRepository.save(Booking.builder()
+                                    .tableId(tableId)
+                                    .clubId(table.getClubId())
+                                    .companyId(companyId)
+                                    .userId(userId)
+                                    .startTime(start)
+                                    .endTime(end)
+                                    .status(Booking.BookingStatus.PENDING)
+                                    .build());
+                        } catch (DataIntegrityViolationException e) {
+                            if (!isOverlap(e)) {
+                                throw e;
+                            }
+                            log.debug("Booking for table {} from {} to {} overlaps one made elsewhere", tableId, start, end);
+                            return new BookingResult(BookingResult.Outcome.CONFLICT, null);
+                        }
+                        availabilityIndex.add(slots, booking);
+                        log.debug("Booking {} created for table {} from {} to {}", booking.getId(), tableId, start, end);
+                        return new BookingResult(BookingResult.Outcome.CREATED, booking);
+                    } finally {
+                        slots.lock.unlock();
+                    }
+                })
+                .orElse(new BookingResult(BookingResult.Outcome.NOT_FOUND, null));
+    }
+    
+    @Transactional
+    public BookingResult confirm(Long bookingId) {
+        return bookingRepository.findById(bookingId)
+                .map(booking -> changeStatus(booking, Booking.BookingStatus.PENDING, Booking.BookingStatus.CONFIRMED))
+                .orElse(new BookingResult(BookingResult.Outcome.NOT_FOUND, null));
+    }
+    
+    @Transactional
+    public BookingResult cancel(Long bookingId) {
+        return bookingRepository.findById(bookingId)
+                .map(booking -> changeStatus(booking, booking.getStatus(), Booking.BookingStatus.CANCELLED))
+                .orElse(new BookingResult(BookingResult.Outcome.NOT_FOUND, null));
+    }
+    
+    /**
+     * Moves the booking from {@code expected} to {@code target} with one conditional UPDATE, so of
+     * a concurrent confirm and cancel only one wins. The index is only touched by the winner.
+     */
+    private BookingResult changeStatus(Booking booking, Booking.BookingStatus expected, Booking.BookingStatus target) {
+        if (booking.getStatus() != expected || !BookingAvailabilityIndex.ACTIVE_STATUSES.contains(expected)) {
+            return new BookingResult(BookingResult.Outcome.INVALID_STATUS, booking);
+        }
+        int updated = bookingRepository.transitionStatus(booking.getId(), expected, target, LocalDateTime.now());
+        Booking current = bookingRepository.findById(booking.getId()).orElse(booking);
+        if (updated != 1) {
+            log.debug("Booking {} change {} -> {} lost, current status is {}", booking.getId(), expected, target, current.getStatus());
+            return new BookingResult(BookingResult.Outcome.INVALID_STATUS, current);
+        }
+        if (!BookingAvailabilityIndex.ACTIVE_STATUSES.contains(target)) {
+            availabilityIndex.remove(booking);
+        }
+        return new BookingResult(BookingResult.Outcome.UPDATED, current);
+    }
+    
+    private static boolean isOverlap(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && EXCLUSION_VIOLATION.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
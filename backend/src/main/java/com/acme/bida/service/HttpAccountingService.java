@@ -0,0 +1,108 @@
+package com.acme.bida.service;
+
+import com.acme.bida.dto.InvoiceDraft;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link AccountingService} speaking JSON over HTTP:
+ * {@code POST {endpoint}/companies/{companyId}/invoices} with {@code {"invoices": [...]}}, answered
+ * by {@code {"results": [{"idempotencyKey", "status": "ACCEPTED"|"REJECTED", "invoiceNumber", "error"}]}}.
+ * Without {@code accounting.endpoint} it talks to the local stand-in served by this application.
+ */
+@Service
+@Slf4j
+public class HttpAccountingService implements AccountingService {
+    
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+    private final String endpoint;
+    private final String apiKey;
+    private final Duration requestTimeout;
+    private final HttpClient httpClient;
+    
+    public HttpAccountingService(ObjectMapper objectMapper,
+                                 Environment environment,
+                                 @Value("${accounting.endpoint:}") String endpoint,
+                                 @Value("${accounting.api-key:}") String apiKey,
+                                 @Value("${accounting.connect-timeout:5s}") Duration connectTimeout,
+                                 @Value("${accounting.request-timeout:30s}") Duration requestTimeout) {
+        this.objectMapper = objectMapper;
+        this.environment = environment;
+        this.endpoint = endpoint;
+        this.apiKey = apiKey;
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .build();
+    }
+    
+    @Override
+    public List<InvoiceResult> submit(Long companyId, List<InvoiceDraft> drafts) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl() + "/companies/" + companyId + "/invoices"))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(toJson(Map.of("invoices", drafts))));
+        if (!apiKey.isBlank()) {
+            request.header("X-Api-Key", apiKey);
+        }
+        
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new AccountingUnavailableException("Accounting system unreachable: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountingUnavailableException("Interrupted while sending invoices", e);
+        }
+        if (response.statusCode() != 200) {
+            throw new AccountingUnavailableException("Accounting system answered " + response.statusCode());
+        }
+        
+        try {
+            List<InvoiceResult> results = new ArrayList<>(drafts.size());
+            for (JsonNode result : objectMapper.readTree(response.body()).path("results")) {
+                results.add(new InvoiceResult(
+                        result.path("idempotencyKey").asText(),
+                        "ACCEPTED".equals(result.path("status").asText()),
+                        result.path("invoiceNumber").asText(null),
+                        result.path("error").asText(null)));
+            }
+            return results;
+        } catch (IOException e) {
+            throw new AccountingUnavailableException("Unreadable response from accounting system", e);
+        }
+    }
+    
+    private String baseUrl() {
+        if (!endpoint.isBlank()) {
+            return endpoint;
+        }
+        return "http://localhost:" + environment.getProperty("local.server.port", "8080")
+                + environment.getProperty("server.servlet.context-path", "") + "/accounting-stub";
+    }
+    
+    private byte[] toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invoice drafts are not serializable", e);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.acme.bida.service;
+
+import com.acme.bida.dto.InvoiceDraft;
+import com.acme.bida.repository.InvoiceExportRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends queued invoice drafts to the accounting systems through {@link AccountingService}.
+ * Each pass leases batches of up to {@code accounting.export.batch-size} drafts per company and
+ * sends them on a fixed pool of sender threads. A company never has more than
+ * {@code max-in-flight-per-company} requests outstanding and the whole application never more
+ * than {@code max-in-flight}; when either limit is reached the drafts simply stay queued in
+ * the database, which is the back-pressure.
+ * <p>
+ * Failed batches are retried with exponential backoff and end up DEAD after
+ * {@code max-attempts}. Leases of drafts whose sender died expire and the drafts are queued
+ * again, so an export survives a crash at any point and is sent at least once; receivers
+ * recognise repeats by the draft's idempotency key.
+ */
+@Service
+@Slf4j
+public class InvoiceExportProcessor {
+    
+    private final InvoiceExportRepository invoiceExportRepository;
+    private final AccountingService accountingService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxInFlightPerCompany;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration lease;
+    private final Semaphore inFlight;
+    private final Map<Long, Semaphore> inFlightByCompany = new ConcurrentHashMap<>();
+    private final ExecutorService senders;
+    private final AtomicLong backlog = new AtomicLong();
+    
+    public InvoiceExportProcessor(InvoiceExportRepository invoiceExportRepository,
+                                  AccountingService accountingService,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${accounting.export.enabled:true}") boolean enabled,
+                                  @Value("${accounting.export.batch-size:50}") int batchSize,
+                                  @Value("${accounting.export.max-in-flight:16}") int maxInFlight,
+                                  @Value("${accounting.export.max-in-flight-per-company:2}") int maxInFlightPerCompany,
+                                  @Value("${accounting.export.max-attempts:10}") int maxAttempts,
+                                  @Value("${accounting.export.retry-backoff:10s}") Duration retryBackoff,
+                                  @Value("${accounting.export.lease:2m}") Duration lease) {
+        this.invoiceExportRepository = invoiceExportRepository;
+        this.accountingService = accountingService;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxInFlightPerCompany = Math.max(1, maxInFlightPerCompany);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.lease = lease;
+        this.inFlight = new Semaphore(Math.max(1, maxInFlight));
+        this.senders = Executors.newFixedThreadPool(Math.max(1, maxInFlight), runnable -> {
+            Thread thread = new Thread(runnable, "invoice-export-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        Gauge.builder("accounting.export.backlog", backlog, AtomicLong::get)
+                .description("Invoice drafts queued or being sent")
+                .register(meterRegistry);
+        Gauge.builder("accounting.export.in_flight", inFlight, permits -> Math.max(1, maxInFlight) - permits.availablePermits())
+                .description("Batches currently being sent")
+                .register(meterRegistry);
+    }
+    
+    /** Starts as many batches as the in-flight limits allow, company after company. */
+    @Scheduled(fixedDelayString = "${accounting.export.interval:1000}")
+    public void sendDue() {
+        if (!enabled) {
+            return;
+        }
+        for (Long companyId : invoiceExportRepository.findCompaniesWithDue()) {
+            Semaphore companyPermits = inFlightByCompany.computeIfAbsent(companyId, id -> new Semaphore(maxInFlightPerCompany));
+            while (companyPermits.tryAcquire()) {
+                if (!inFlight.tryAcquire()) {
+                    companyPermits.release();
+                    break;
+                }
+                List<InvoiceExportRepository.ClaimedExport> batch = invoiceExportRepository.claimBatch(companyId, batchSize, lease);
+                if (batch.isEmpty()) {
+                    inFlight.release();
+                    companyPermits.release();
+                    break;
+                }
+                senders.execute(() -> {
+                    try {
+                        send(companyId, batch);
+                    } finally {
+                        inFlight.release();
+                        companyPermits.release();
+                    }
+                });
+            }
+        }
+        backlog.set(invoiceExportRepository.countUnfinished().values().stream().mapToLong(Long::longValue).sum());
+    }
+    
+    @Scheduled(fixedDelayString = "${accounting.export.lease-check-interval:30000}")
+    public void releaseExpiredLeases() {
+        int released = invoiceExportRepository.releaseExpiredLeases();
+        if (released > 0) {
+            log.warn("Re-queued {} invoice export(s) whose sender did not finish within {}", released, lease);
+        }
+    }
+    
+    private void send(Long companyId, List<InvoiceExportRepository.ClaimedExport> batch) {
+        Map<String, Long> exportIdsByKey = new HashMap<>();
+        long startNanos = System.nanoTime();
+        List<AccountingService.InvoiceResult> results;
+        try {
+            List<InvoiceDraft> drafts = batch.stream()
+                    .map(claimed -> {
+                        InvoiceDraft draft = fromJson(claimed.payload());
+                        exportIdsByKey.put(draft.getIdempotencyKey(), claimed.id());
+                        return draft;
+                    })
+                    .toList();
+            results = accountingService.submit(companyId, drafts);
+        } catch (RuntimeException e) {
+            record(startNanos, "failed");
+            log.warn("Sending {} invoice(s) of company {} failed: {}", batch.size(), companyId, e.getMessage());
+            invoiceExportRepository.scheduleRetry(batch.stream().map(InvoiceExportRepository.ClaimedExport::id).toList(),
+                    e.getMessage(), retryBackoff, maxAttempts);
+            count("retry", batch.size());
+            return;
+        }
+        record(startNanos, "sent");
+        
+        Map<Long, String> sent = new HashMap<>();
+        Map<Long, String> rejected = new HashMap<>();
+        for (AccountingService.InvoiceResult result : results) {
+            Long exportId = exportIdsByKey.remove(result.idempotencyKey());
+            if (exportId == null) {
+                continue;
+            }
+            if (result.accepted()) {
+                sent.put(exportId, result.externalId());
+            } else {
+                rejected.put(exportId, result.error() != null ? result.error() : "Rejected by accounting system");
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (!sent.isEmpty()) {
+            invoiceExportRepository.markSent(sent, now);
+        }
+        if (!rejected.isEmpty()) {
+            invoiceExportRepository.markRejected(rejected);
+        }
+        if (!exportIdsByKey.isEmpty()) {
+            invoiceExportRepository.scheduleRetry(exportIdsByKey.values(), "No result in the accounting system's response",
+                    retryBackoff, maxAttempts);
+        }
+        count("sent", sent.size());
+        count("rejected", rejected.size());
+        count("retry", exportIdsByKey.size());
+    }
+    
+    private InvoiceDraft fromJson(String payload) {
+        try {
+            return objectMapper.readValue(payload, InvoiceDraft.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private void record(long startNanos, String outcome) {
+        Timer.builder("accounting.export.requests")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    private void count(String outcome, int amount) {
+        if (amount > 0) {
+            Counter.builder("accounting.export.invoices")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .increment(amount);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Batches still running when this times out keep their lease and are re-queued once it expires
+        senders.shutdown();
+        senders.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
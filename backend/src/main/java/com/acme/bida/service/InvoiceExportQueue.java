@@ -0,0 +1,66 @@
+package com.acme.bida.service;
+
+import com.acme.bida.dto.InvoiceDraft;
+import com.acme.bida.repository.InvoiceExportRepository;
+import com.acme.bida.service.event.DomainEvent;
+import com.acme.bida.service.event.DomainEventSubscriber;
+import com.acme.bida.service.event.DomainEventType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Turns closed bills into queued invoice drafts. Runs as an outbox subscriber, so drafts are
+ * built off the request path and written in the same transaction that marks the events
+ * published; a redelivered event finds the export already there and is skipped.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InvoiceExportQueue implements DomainEventSubscriber {
+    
+    private final InvoiceExportRepository invoiceExportRepository;
+    private final ObjectMapper objectMapper;
+    
+    @Override
+    public boolean supports(DomainEventType type) {
+        return type == DomainEventType.BILL_CLOSED || type == DomainEventType.BILL_CANCELLED;
+    }
+    
+    @Override
+    public void handle(List<DomainEvent> events) {
+        // A bill is always closed before it is cancelled, so queueing first keeps the club's order
+        List<Long> closed = billIds(events, DomainEventType.BILL_CLOSED);
+        if (!closed.isEmpty()) {
+            List<InvoiceExportRepository.QueuedDraft> drafts = invoiceExportRepository.buildDrafts(closed).stream()
+                    .map(draft -> new InvoiceExportRepository.QueuedDraft(draft.getCompanyId(), draft.getClubId(),
+                            draft.getBillId(), toJson(draft)))
+                    .toList();
+            invoiceExportRepository.enqueue(drafts);
+            log.debug("Queued {} invoice draft(s)", drafts.size());
+        }
+        List<Long> cancelled = billIds(events, DomainEventType.BILL_CANCELLED);
+        if (!cancelled.isEmpty()) {
+            invoiceExportRepository.cancelUnsent(cancelled);
+        }
+    }
+    
+    private static List<Long> billIds(List<DomainEvent> events, DomainEventType type) {
+        return events.stream()
+                .filter(event -> event.type() == type)
+                .map(DomainEvent::aggregateId)
+                .toList();
+    }
+    
+    private String toJson(InvoiceDraft draft) {
+        try {
+            return objectMapper.writeValueAsString(draft);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invoice draft of bill " + draft.getBillId() + " is not serializable", e);
+        }
+    }
+}
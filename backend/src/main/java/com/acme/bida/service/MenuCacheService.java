@@ -0,0 +1,127 @@
+package com.acme.bida.service;
+
+import com.acme.bida.domain.entity.Product;
+import com.acme.bida.dto.MenuItemView;
+import com.acme.bida.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Per-club product menus held as ready-to-send JSON and gzip bytes with an ETag, so a menu
+ * request costs a map lookup and a revalidation with a matching ETag costs nothing else.
+ * <p>
+ * Each club has a versioned holder that is replaced on {@link #invalidate}. A menu built from a
+ * read that raced with a change lands in the discarded holder, never in the current one.
+ */
+@Service
+@Slf4j
+public class MenuCacheService {
+    
+    private static final String ALL_CATEGORIES = "ALL";
+    
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+    private final Counter builds;
+    
+    private final Map<Long, ClubMenu> menus = new ConcurrentHashMap<>();
+    
+    public MenuCacheService(ProductRepository productRepository, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+        this.builds = Counter.builder("menu.cache.builds")
+                .description("Menus serialized after a miss or an invalidation")
+                .register(meterRegistry);
+    }
+    
+    public record CachedMenu(String etag, byte[] json, byte[] gzip) {
+        
+        /** True when an If-None-Match header value names this menu. */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || tag.equals(etag) || ("W/" + tag).equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+    
+    private record ClubMenu(long version, Map<String, CachedMenu> variants) {
+        
+        ClubMenu(long version) {
+            this(version, new ConcurrentHashMap<>());
+        }
+    }
+    
+    /** Available products of the club, optionally limited to one category. */
+    public CachedMenu menu(Long clubId, Product.ProductCategory category) {
+        ClubMenu club = menus.computeIfAbsent(clubId, id -> new ClubMenu(0));
+        String key = category == null ? ALL_CATEGORIES : category.name();
+        // computeIfAbsent also makes concurrent misses for the same menu wait for a single build
+        return club.variants().computeIfAbsent(key, k -> build(clubId, category, club.version()));
+    }
+    
+    /** Drops every cached variant of the club's menu; call once the product change is committed. */
+    public void invalidate(Long clubId) {
+        ClubMenu next = menus.compute(clubId, (id, current) -> new ClubMenu(current == null ? 1 : current.version() + 1));
+        log.debug("Menu of club {} invalidated, now at version {}", clubId, next.version());
+    }
+    
+    private CachedMenu build(Long clubId, Product.ProductCategory category, long version) {
+        List<Product> products = category == null
+                ? productRepository.findByClubIdAndIsAvailableTrue(clubId)
+                : productRepository.findByClubIdAndCategory(clubId, category).stream()
+                        .filter(product -> !Boolean.FALSE.equals(product.getIsAvailable()))
+                        .toList();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(products.stream().map(MenuItemView::from).toList());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize menu of club " + clubId, e);
+        }
+        builds.increment();
+        // Content hash rather than the version, so ETags stay valid across restarts and instances
+        String etag = "W/\"" + clubId + "-" + digest(json) + "\"";
+        log.debug("Built menu of club {} ({}), version {}, {} items, {} bytes",
+                clubId, category == null ? ALL_CATEGORIES : category, version, products.size(), json.length);
+        return new CachedMenu(etag, json, gzip(json));
+    }
+    
+    private static String digest(byte[] bytes) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return HexFormat.of().formatHex(hash, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
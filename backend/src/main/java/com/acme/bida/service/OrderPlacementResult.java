@@ -0,0 +1,22 @@
+package com.acme.bida.service;
+
+import com.acme.bida.domain.entity.Order;
+import com.acme.bida.domain.entity.OrderItem;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk order placement; {@code orders} and {@code items} are set when it was applied.
+ */
+public record OrderPlacementResult(Outcome outcome, List<Order> orders, List<OrderItem> items) {
+
+    public enum Outcome {
+        APPLIED,
+        TABLE_NOT_FOUND,
+        INVALID_PRODUCT
+    }
+
+    public static OrderPlacementResult of(Outcome outcome) {
+        return new OrderPlacementResult(outcome, List.of(), List.of());
+    }
+}
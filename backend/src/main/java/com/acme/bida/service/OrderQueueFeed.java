@@ -0,0 +1,260 @@
+package com.acme.bida.service;
+
+import com.acme.bida.dto.OrderQueueMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Server-Sent Events connections of the bar screens, per club. Messages are serialized once and
+ * queued per connection; each connection with pending messages is written on its own virtual
+ * thread, so neither the transaction that changed the queue nor the other screens wait for a slow
+ * client's socket. A connection that falls more than {@code feed-max-pending} messages behind has
+ * its backlog dropped and gets a fresh snapshot instead. Connections that fail a write are
+ * dropped; heartbeats find dead ones even when the queue is idle.
+ */
+@Service
+@Slf4j
+public class OrderQueueFeed {
+
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+    private final int maxPending;
+    private final Counter resyncCounter;
+    private final Map<Long, Set<Connection>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("order-queue-feed-", 0).factory());
+
+    public OrderQueueFeed(ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${realtime.orders.feed-timeout:30m}") Duration timeout,
+                          @Value("${realtime.orders.feed-max-pending:64}") int maxPending) {
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        this.maxPending = Math.max(1, maxPending);
+        this.resyncCounter = Counter.builder("orders.queue.feed.resyncs")
+                .description("Feed connections whose backlog was replaced by a fresh snapshot")
+                .register(meterRegistry);
+        Gauge.builder("orders.queue.feed.subscribers", subscribers,
+                        clubs -> clubs.values().stream().mapToInt(Set::size).sum())
+                .description("Open order queue feed connections")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers a new connection for the club. It is sent {@code snapshot} first, then every
+     * message published from now on; {@code snapshot} is asked again whenever the connection
+     * has to catch up after falling behind.
+     */
+    public SseEmitter subscribe(Long clubId, Supplier<OrderQueueMessage> snapshot) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Connection connection = new Connection(clubId, emitter, snapshot);
+        subscribers.computeIfAbsent(clubId, id -> ConcurrentHashMap.newKeySet()).add(connection);
+        emitter.onCompletion(connection::close);
+        emitter.onTimeout(() -> {
+            // Completing here ends the response cleanly instead of raising AsyncRequestTimeoutException
+            connection.close();
+            emitter.complete();
+        });
+        emitter.onError(error -> connection.close());
+        connection.resync();
+        return emitter;
+    }
+
+    public void publish(OrderQueueMessage message) {
+        Set<Connection> club = subscribers.get(message.getClubId());
+        if (club == null || club.isEmpty()) {
+            return;
+        }
+        String json = toJson(message);
+        for (Connection connection : club) {
+            connection.offer(event(message, json));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${realtime.orders.heartbeat-interval:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(club -> club.forEach(Connection::heartbeat));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        subscribers.values().forEach(club -> club.forEach(connection -> connection.emitter.complete()));
+        subscribers.clear();
+    }
+
+    private static SseEmitter.SseEventBuilder event(OrderQueueMessage message, String json) {
+        return SseEmitter.event()
+                .id(Long.toString(message.getVersion()))
+                .name(message.getType().name().toLowerCase(Locale.ROOT))
+                .data(json, MediaType.APPLICATION_JSON);
+    }
+
+    private String toJson(OrderQueueMessage message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * One client. Its pending events are written in order by at most one sender task at a time;
+     * the lock only guards the queue and flags, never a socket write.
+     */
+    private final class Connection {
+
+        private final Long clubId;
+        private final SseEmitter emitter;
+        private final Supplier<OrderQueueMessage> snapshot;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+        private boolean resync;
+        private boolean sending;
+        private boolean closed;
+
+        Connection(Long clubId, SseEmitter emitter, Supplier<OrderQueueMessage> snapshot) {
+            this.clubId = clubId;
+            this.emitter = emitter;
+            this.snapshot = snapshot;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            lock.lock();
+            try {
+                if (closed || resync) {
+                    // A snapshot is already due and will be taken after this change
+                    return;
+                }
+                if (pending.size() >= maxPending) {
+                    log.debug("Order queue feed connection of club {} fell {} messages behind; resyncing", clubId, maxPending);
+                    resyncCounter.increment();
+                    requestSnapshot();
+                    return;
+                }
+                pending.add(event);
+                schedule();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void resync() {
+            lock.lock();
+            try {
+                if (!closed) {
+                    requestSnapshot();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void heartbeat() {
+            lock.lock();
+            try {
+                // A connection that is still writing is not idle, and one that is stuck gains nothing
+                if (!closed && !sending && !resync && pending.isEmpty()) {
+                    pending.add(SseEmitter.event().comment("keep-alive"));
+                    schedule();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void close() {
+            lock.lock();
+            try {
+                closed = true;
+                pending.clear();
+            } finally {
+                lock.unlock();
+            }
+            subscribers.getOrDefault(clubId, Set.of()).remove(this);
+        }
+
+        private void requestSnapshot() {
+            pending.clear();
+            resync = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (sending) {
+                return;
+            }
+            sending = true;
+            try {
+                sender.execute(this::send);
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                sending = false;
+            }
+        }
+
+        private void send() {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                boolean takeSnapshot;
+                lock.lock();
+                try {
+                    takeSnapshot = resync && !closed;
+                    resync = false;
+                    event = takeSnapshot ? null : pending.poll();
+                    if (!takeSnapshot && (event == null || closed)) {
+                        sending = false;
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (takeSnapshot) {
+                    try {
+                        // Taken now, so it covers every delta dropped while the connection was behind
+                        OrderQueueMessage message = snapshot.get();
+                        event = event(message, toJson(message));
+                    } catch (RuntimeException e) {
+                        // Ending the response makes the client reconnect and ask again
+                        log.warn("Could not snapshot the order queue of club {} for the feed", clubId, e);
+                        close();
+                        emitter.complete();
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | RuntimeException e) {
+                    // The client went away; the container completes the emitter, we only stop writing to it
+                    close();
+                    log.debug("Dropped order queue feed connection of club {}: {}", clubId, e.getMessage());
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.acme.bida.service;
+
+import com.acme.bida.domain.entity.Order;
+import com.acme.bida.domain.entity.OrderItem;
+import com.acme.bida.domain.entity.Product;
+import com.acme.bida.domain.entity.Table;
+import com.acme.bida.dto.OrderQueueMessage;
+import com.acme.bida.dto.OrderTicketView;
+import com.acme.bida.repository.OrderItemRepository;
+import com.acme.bida.repository.OrderRepository;
+import com.acme.bida.repository.ProductRepository;
+import com.acme.bida.repository.TableRepository;
+import com.acme.bida.service.event.DomainEventType;
+import com.acme.bida.service.event.OrderStatusChangedEvent;
+import com.acme.bida.service.event.OrdersPlacedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory queue of every club's open (PENDING/PREPARING/READY) orders, oldest first, for the
+ * bar screens. The queue is built from the orders table at startup and kept current by the
+ * events of {@link OrderService} and of {@link #transition}, so reading it never touches the
+ * database. Every change is pushed to the club's {@link OrderQueueFeed} connections right
+ * after its transaction commits.
+ * <p>
+ * Orders changed outside this instance reach the queue on the next periodic re-read.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderQueueService {
+
+    public static final List<Order.OrderStatus> OPEN_STATUSES =
+            List.of(Order.OrderStatus.PENDING, Order.OrderStatus.PREPARING, Order.OrderStatus.READY);
+
+    private static final int ITEM_LOOKUP_CHUNK = 1000;
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ProductRepository productRepository;
+    private final TableRepository tableRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxWriter outboxWriter;
+    private final OrderQueueFeed orderQueueFeed;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, ClubQueue> clubs = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("orders.queue.open", clubs, queues -> queues.values().stream().mapToInt(ClubQueue::size).sum())
+                .description("Open orders held in the in-memory order queues")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        int open = reload();
+        log.info("Order queues built with {} open orders in {} clubs", open, clubs.size());
+    }
+
+    /**
+     * Re-reads the open orders and replaces every club queue that differs from the database.
+     * A club that changed while the read was running is left alone until the next pass.
+     */
+    @Scheduled(fixedDelayString = "${realtime.orders.reconcile-interval:60000}",
+            initialDelayString = "${realtime.orders.reconcile-interval:60000}")
+    public void reconcile() {
+        reload();
+    }
+
+    public OrderQueueMessage snapshot(Long clubId) {
+        ClubQueue queue = queueOf(clubId);
+        synchronized (queue) {
+            return queue.message(OrderQueueMessage.MessageType.SNAPSHOT, queue.tickets());
+        }
+    }
+
+    /**
+     * Opens a feed connection for the club, starting with a snapshot. Deltas queued behind a
+     * snapshot may already be part of it; their version is not greater than the snapshot's.
+     */
+    public SseEmitter subscribe(Long clubId) {
+        return orderQueueFeed.subscribe(clubId, () -> snapshot(clubId));
+    }
+
+    /**
+     * Moves the listed orders of the club from {@code from} to {@code to}. The orders still in
+     * {@code from} are locked and changed by one UPDATE; the others are reported as skipped.
+     */
+    @Transactional
+    public OrderQueueTransitionResult transition(Long clubId, List<Long> orderIds,
+                                                 Order.OrderStatus from, Order.OrderStatus to) {
+        if (!from.canTransitionTo(to)) {
+            return OrderQueueTransitionResult.invalid();
+        }
+        List<Long> requested = orderIds.stream().distinct().toList();
+        List<Long> applied = orderRepository.lockInStatus(clubId, from, requested);
+        if (!applied.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            orderRepository.updateStatus(clubId, applied, to, now);
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(clubId, applied, to, now));
+            for (Long orderId : applied) {
+                outboxWriter.append(DomainEventType.ORDER_STATUS_CHANGED, clubId, orderId,
+                        Map.of("orderId", orderId, "from", from, "to", to));
+            }
+        }
+        Set<Long> moved = new HashSet<>(applied);
+        List<Long> skipped = requested.stream().filter(id -> !moved.contains(id)).toList();
+        log.debug("Moved {} order(s) of club {} {} -> {}, skipped {}", applied.size(), clubId, from, to, skipped.size());
+        return new OrderQueueTransitionResult(OrderQueueTransitionResult.Outcome.APPLIED, applied, skipped);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrdersPlaced(OrdersPlacedEvent event) {
+        Table table = event.table();
+        Map<Long, List<OrderItem>> itemsByOrder = event.items().stream()
+                .collect(Collectors.groupingBy(OrderItem::getOrderId));
+        List<OrderTicketView> placed = event.orders().stream()
+                .map(order -> ticketOf(order, table.getName(), itemsByOrder.getOrDefault(order.getId(), List.of()), event.products()))
+                .toList();
+        ClubQueue queue = queueOf(table.getClubId());
+        OrderQueueMessage delta;
+        synchronized (queue) {
+            placed.forEach(queue::put);
+            delta = queue.delta(placed);
+        }
+        orderQueueFeed.publish(delta);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        ClubQueue queue = queueOf(event.clubId());
+        OrderQueueMessage delta;
+        synchronized (queue) {
+            List<OrderTicketView> changed = new ArrayList<>(event.orderIds().size());
+            for (Long orderId : event.orderIds()) {
+                OrderTicketView ticket = queue.get(orderId);
+                if (ticket == null) {
+                    // Placed on another instance; the next re-read brings it in
+                    continue;
+                }
+                OrderTicketView updated = ticket.toBuilder()
+                        .status(event.status())
+                        .updatedAt(event.changedAt())
+                        .build();
+                queue.put(updated);
+                changed.add(updated);
+            }
+            if (changed.isEmpty()) {
+                return;
+            }
+            delta = queue.delta(changed);
+        }
+        orderQueueFeed.publish(delta);
+    }
+
+    private int reload() {
+        Map<Long, Long> versionsBefore = new HashMap<>();
+        clubs.forEach((clubId, queue) -> versionsBefore.put(clubId, queue.version()));
+
+        List<Order> open = orderRepository.findByStatusInOrderByCreatedAtAscIdAsc(OPEN_STATUSES);
+        Map<Long, List<OrderTicketView>> fresh = loadTickets(open);
+
+        Set<Long> clubIds = new LinkedHashSet<>(clubs.keySet());
+        clubIds.addAll(fresh.keySet());
+        for (Long clubId : clubIds) {
+            List<OrderTicketView> tickets = fresh.getOrDefault(clubId, List.of());
+            ClubQueue queue = queueOf(clubId);
+            OrderQueueMessage snapshot;
+            synchronized (queue) {
+                if (queue.version() != versionsBefore.getOrDefault(clubId, 0L) || queue.matches(tickets)) {
+                    continue;
+                }
+                queue.replace(tickets);
+                snapshot = queue.message(OrderQueueMessage.MessageType.SNAPSHOT, queue.tickets());
+            }
+            log.debug("Order queue of club {} replaced from the database at version {}", clubId, snapshot.getVersion());
+            orderQueueFeed.publish(snapshot);
+        }
+        return open.size();
+    }
+
+    private Map<Long, List<OrderTicketView>> loadTickets(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> orderIds = orders.stream().map(Order::getId).toList();
+        List<OrderItem> items = new ArrayList<>();
+        for (int from = 0; from < orderIds.size(); from += ITEM_LOOKUP_CHUNK) {
+            items.addAll(orderItemRepository.findByOrderIdIn(
+                    orderIds.subList(from, Math.min(from + ITEM_LOOKUP_CHUNK, orderIds.size()))));
+        }
+        Map<Long, List<OrderItem>> itemsByOrder = items.stream()
+                .collect(Collectors.groupingBy(OrderItem::getOrderId));
+        Map<Long, Product> products = productRepository.findAllById(
+                        items.stream().map(OrderItem::getProductId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        Map<Long, String> tableNames = tableRepository.findAllById(
+                        orders.stream().map(Order::getTableId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Table::getId, Table::getName));
+
+        Map<Long, List<OrderTicketView>> byClub = new HashMap<>();
+        for (Order order : orders) {
+            byClub.computeIfAbsent(order.getClubId(), id -> new ArrayList<>())
+                    .add(ticketOf(order, tableNames.get(order.getTableId()),
+                            itemsByOrder.getOrDefault(order.getId(), List.of()), products));
+        }
+        return byClub;
+    }
+
+    private static OrderTicketView ticketOf(Order order, String tableName, List<OrderItem> items, Map<Long, Product> products) {
+        return OrderTicketView.builder()
+                .orderId(order.getId())
+                .tableId(order.getTableId())
+                .tableName(tableName)
+                .status(order.getStatus())
+                .totalAmount(order.getTotalAmount())
+                .createdAt(order.getCreatedAt())
+                .updatedAt(order.getUpdatedAt())
+                .items(items.stream()
+                        .sorted(Comparator.comparing(OrderItem::getId))
+                        .map(item -> OrderTicketView.Line.builder()
+                                .productId(item.getProductId())
+                                .productName(products.containsKey(item.getProductId())
+                                        ? products.get(item.getProductId()).getName()
+                                        : null)
+                                .quantity(item.getQuantity())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    private ClubQueue queueOf(Long clubId) {
+        return clubs.computeIfAbsent(clubId, ClubQueue::new);
+    }
+
+    /**
+     * Open orders of one club ordered by creation time, then id. Guarded by its own monitor;
+     * no database call is made while holding it.
+     */
+    private static final class ClubQueue {
+        private static final Comparator<OrderTicketView> AGE =
+                Comparator.comparing(OrderTicketView::getCreatedAt).thenComparing(OrderTicketView::getOrderId);
+
+        private final Long clubId;
+        private final TreeMap<OrderTicketView, OrderTicketView> byAge = new TreeMap<>(AGE);
+        private final Map<Long, OrderTicketView> byId = new HashMap<>();
+        private long version;
+
+        private ClubQueue(Long clubId) {
+            this.clubId = clubId;
+        }
+
+        synchronized long version() {
+            return version;
+        }
+
+        synchronized int size() {
+            return byId.size();
+        }
+
+        OrderTicketView get(Long orderId) {
+            return byId.get(orderId);
+        }
+
+        // Tickets of closed orders leave the queue
+        void put(OrderTicketView ticket) {
+            OrderTicketView previous = byId.remove(ticket.getOrderId());
+            if (previous != null) {
+                byAge.remove(previous);
+            }
+            if (OPEN_STATUSES.contains(ticket.getStatus())) {
+                byId.put(ticket.getOrderId(), ticket);
+                byAge.put(ticket, ticket);
+            }
+        }
+
+        void replace(List<OrderTicketView> tickets) {
+            byId.clear();
+            byAge.clear();
+            tickets.forEach(this::put);
+            version++;
+        }
+
+        boolean matches(List<OrderTicketView> tickets) {
+            if (tickets.size() != byId.size()) {
+                return false;
+            }
+            for (OrderTicketView ticket : tickets) {
+                OrderTicketView current = byId.get(ticket.getOrderId());
+                if (current == null || current.getStatus() != ticket.getStatus()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        List<OrderTicketView> tickets() {
+            return new ArrayList<>(byAge.values());
+        }
+
+        OrderQueueMessage delta(List<OrderTicketView> changed) {
+            version++;
+            return message(OrderQueueMessage.MessageType.DELTA, changed);
+        }
+
+        OrderQueueMessage message(OrderQueueMessage.MessageType type, List<OrderTicketView> tickets) {
+            return OrderQueueMessage.builder()
+                    .type(type)
+                    .clubId(clubId)
+                    .version(version)
+                    .orders(tickets)
+                    .build();
+        }
+    }
+}
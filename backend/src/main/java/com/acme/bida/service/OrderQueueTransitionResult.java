@@ -0,0 +1,19 @@
+package com.acme.bida.service;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk order status change. {@code applied} lists the orders that were moved,
+ * {@code skipped} those that were not in the expected status or do not belong to the club.
+ */
+public record OrderQueueTransitionResult(Outcome outcome, List<Long> applied, List<Long> skipped) {
+    
+    public enum Outcome {
+        APPLIED,
+        INVALID_TRANSITION
+    }
+    
+    public static OrderQueueTransitionResult invalid() {
+        return new OrderQueueTransitionResult(Outcome.INVALID_TRANSITION, List.of(), List.of());
+    }
+}
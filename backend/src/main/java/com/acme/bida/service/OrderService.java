@@ -0,0 +1,112 @@
+package com.acme.bida.service;
+
+import com.acme.bida.domain.entity.Order;
+import com.acme.bida.domain.entity.OrderItem;
+import com.acme.bida.domain.entity.Product;
+import com.acme.bida.domain.entity.Table;
+import com.acme.bida.dto.BulkOrderRequest;
+import com.acme.bida.repository.OrderItemRepository;
+import com.acme.bida.repository.OrderRepository;
+import com.acme.bida.repository.ProductRepository;
+import com.acme.bida.repository.TableRepository;
+import com.acme.bida.service.event.DomainEventType;
+import com.acme.bida.service.event.OrdersPlacedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Places orders in bulk. Order and item ids come from pooled sequences, so persisting assigns
+ * ids without touching the database and the flush sends the orders and the items as one JDBC
+ * batch each instead of one INSERT per row.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderService {
+    
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ProductRepository productRepository;
+    private final TableRepository tableRepository;
+    private final TenantKeyResolver tenantKeyResolver;
+    private final OutboxWriter outboxWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Transactional
+    public OrderPlacementResult placeBulk(BulkOrderRequest request, Long userId) {
+        Optional<Table> table = tableRepository.findById(request.getTableId());
+        if (table.isEmpty()) {
+            return OrderPlacementResult.of(OrderPlacementResult.Outcome.TABLE_NOT_FOUND);
+        }
+        
+        // One query for every product referenced by the request
+        List<Long> productIds = request.getOrders().stream()
+                .flatMap(order -> order.getItems().stream())
+                .map(BulkOrderRequest.Line::getProductId)
+                .distinct()
+                .toList();
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .filter(product -> product.getClubId().equals(table.get().getClubId()))
+                .filter(product -> !Boolean.FALSE.equals(product.getIsAvailable()))
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        if (products.size() != productIds.size()) {
+            return OrderPlacementResult.of(OrderPlacementResult.Outcome.INVALID_PRODUCT);
+        }
+        
+        Long clubId = table.get().getClubId();
+        Long companyId = tenantKeyResolver.companyIdOf(clubId);
+        List<Order> orders = new ArrayList<>(request.getOrders().size());
+        List<OrderItem> items = new ArrayList<>();
+        for (BulkOrderRequest.OrderLines lines : request.getOrders()) {
+            List<OrderItem> orderItems = new ArrayList<>(lines.getItems().size());
+            BigDecimal total = BigDecimal.ZERO;
+            for (BulkOrderRequest.Line line : lines.getItems()) {
+                BigDecimal unitPrice = products.get(line.getProductId()).getPrice();
+                BigDecimal totalPrice = unitPrice.multiply(BigDecimal.valueOf(line.getQuantity()));
+                orderItems.add(OrderItem.builder()
+                        .clubId(clubId)
+                        .companyId(companyId)
+                        .productId(line.getProductId())
+                        .quantity(line.getQuantity())
+                        .unitPrice(unitPrice)
+                        .totalPrice(totalPrice)
+                        .build());
+                total = total.add(totalPrice);
+            }
+            // Totals are final before persist; changing the order afterwards would add an UPDATE per order
+            Order order = orderRepository.save(Order.builder()
+                    .tableId(table.get().getId())
+                    .clubId(clubId)
+                    .companyId(companyId)
+                    .userId(userId)
+                    .status(Order.OrderStatus.PENDING)
+                    .totalAmount(total)
+                    .build());
+            orderItems.forEach(item -> item.setOrderId(order.getId()));
+            orders.add(order);
+            items.addAll(orderItems);
+        }
+        orderItemRepository.saveAll(items);
+        eventPublisher.publishEvent(new OrdersPlacedEvent(table.get(), orders, items, products));
+        for (Order order : orders) {
+            outboxWriter.append(DomainEventType.ORDER_PLACED, clubId, order.getId(), Map.of(
+                    "orderId", order.getId(),
+                    "tableId", order.getTableId(),
+                    "totalAmount", order.getTotalAmount()));
+        }
+        
+        log.debug("Placed {} order(s) with {} item(s) on table {}", orders.size(), items.size(), table.get().getId());
+        return new OrderPlacementResult(OrderPlacementResult.Outcome.APPLIED, orders, items);
+    }
+}
@@ -0,0 +1,222 @@
+package com.acme.bida.service;
+
+import com.acme.bida.repository.OutboxRepository;
+import com.acme.bida.service.event.DomainEvent;
+import com.acme.bida.service.event.DomainEventSubscriber;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes outbox events to the {@link DomainEventSubscriber} beans on one background thread.
+ * Events of a club are delivered in sequence order, in batches, each batch in one transaction
+ * that also marks it published; if a subscriber throws, the transaction rolls back and the
+ * batch is delivered again on the next pass. Clubs are independent, so a failing club does not
+ * hold back the others. A per-club advisory lock keeps two instances from publishing the same
+ * club at once.
+ * <p>
+ * The thread sleeps between passes and is woken by {@link OutboxWriter} after every commit
+ * that wrote events, so publishing normally trails the request by milliseconds.
+ */
+@Service
+@Slf4j
+public class OutboxDispatcher implements SmartLifecycle {
+    
+    private final OutboxRepository outboxRepository;
+    private final ObjectProvider<DomainEventSubscriber> subscriberProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration retention;
+    private final Semaphore wakeUps = new Semaphore(0);
+    private final AtomicLong backlogEvents = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Timer deliveryLatency;
+    private final Counter failures;
+    
+    private List<DomainEventSubscriber> subscribers = List.of();
+    private volatile boolean running;
+    private Thread thread;
+    
+    public OutboxDispatcher(OutboxRepository outboxRepository,
+                            ObjectProvider<DomainEventSubscriber> subscriberProvider,
+                            TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${outbox.dispatcher.enabled:true}") boolean enabled,
+                            @Value("${outbox.dispatcher.batch-size:200}") int batchSize,
+                            @Value("${outbox.dispatcher.poll-interval:1s}") Duration pollInterval,
+                            @Value("${outbox.retention:7d}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.subscriberProvider = subscriberProvider;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.pollInterval = pollInterval;
+        this.retention = retention;
+        
+        this.deliveryLatency = Timer.builder("outbox.delivery.latency")
+                .description("Time from writing an event to publishing it")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.failures = Counter.builder("outbox.dispatch.failures")
+                .description("Batches rolled back because a subscriber or the database failed")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag", lagMillis, millis -> millis.get() / 1000.0)
+                .description("Age of the oldest unpublished event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("outbox.backlog", backlogEvents, AtomicLong::get)
+                .description("Events waiting to be published")
+                .register(meterRegistry);
+    }
+    
+    /** Ends the current wait so committed events are published without waiting for the next poll. */
+    public void wakeUp() {
+        if (wakeUps.availablePermits() == 0) {
+            wakeUps.release();
+        }
+    }
+    
+    /**
+     * Publishes every club's unpublished events.
+     *
+     * @return the number of events published
+     */
+    public int dispatchPending() {
+        int published = 0;
+        for (Long clubId : outboxRepository.findClubsWithUnpublished()) {
+            try {
+                int batch;
+                do {
+                    batch = dispatchBatch(clubId);
+                    published += batch;
+                } while (batch == batchSize);
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.warn("Publishing outbox events of club {} failed, retrying on the next pass: {}", clubId, e.getMessage());
+            }
+        }
+        OutboxRepository.Backlog backlog = outboxRepository.backlog();
+        backlogEvents.set(backlog.events());
+        lagMillis.set(Math.round(backlog.oldestAgeSeconds() * 1000));
+        return published;
+    }
+    
+    private int dispatchBatch(Long clubId) {
+        List<DomainEvent> published = transactionTemplate.execute(status -> {
+            if (!outboxRepository.tryLockClub(clubId)) {
+                return List.of();
+            }
+            List<DomainEvent> events = outboxRepository.findUnpublished(clubId, batchSize);
+            if (events.isEmpty()) {
+                return events;
+            }
+            for (DomainEventSubscriber subscriber : subscribers) {
+                List<DomainEvent> supported = events.stream()
+                        .filter(event -> subscriber.supports(event.type()))
+                        .toList();
+                if (!supported.isEmpty()) {
+                    subscriber.handle(supported);
+                }
+            }
+            outboxRepository.markPublished(events.stream().map(DomainEvent::id).toList(), LocalDateTime.now());
+            return events;
+        });
+        if (published == null || published.isEmpty()) {
+            return 0;
+        }
+        recordPublished(published);
+        return published.size();
+    }
+    
+    private void recordPublished(List<DomainEvent> events) {
+        OffsetDateTime now = OffsetDateTime.now();
+        for (DomainEvent event : events) {
+            deliveryLatency.record(Duration.between(event.createdAt(), now));
+            Counter.builder("outbox.events.published")
+                    .tag("type", event.type().name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+    
+    @Scheduled(cron = "${outbox.cleanup-cron:0 45 3 * * *}")
+    public void deletePublishedEvents() {
+        int deleted = outboxRepository.deletePublishedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Deleted {} published outbox event(s) older than {}", deleted, retention);
+        }
+    }
+    
+    @Override
+    public void start() {
+        if (!enabled) {
+            log.info("Outbox dispatcher disabled");
+            return;
+        }
+        subscribers = subscriberProvider.orderedStream().toList();
+        running = true;
+        thread = new Thread(this::run, "outbox-dispatcher");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Outbox dispatcher started with {} subscriber(s)", subscribers.size());
+    }
+    
+    @Override
+    public void stop() {
+        running = false;
+        if (thread == null) {
+            return;
+        }
+        wakeUp();
+        try {
+            thread.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    private void run() {
+        while (running) {
+            try {
+                dispatchPending();
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.warn("Outbox dispatch pass failed: {}", e.getMessage());
+            }
+            try {
+                wakeUps.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                wakeUps.drainPermits();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.acme.bida.service;
+
+import com.acme.bida.repository.OutboxRepository;
+import com.acme.bida.service.event.DomainEventType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Records domain events in the outbox as part of the caller's transaction. Events are collected
+ * in memory and inserted just before commit: that is when each club's sequence numbers are
+ * taken, so the lock on the club's counter row is held only for the commit itself rather than
+ * for the whole request. Once committed, the {@link OutboxDispatcher} is woken up.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+    
+    private final OutboxRepository outboxRepository;
+    private final TenantKeyResolver tenantKeyResolver;
+    private final OutboxDispatcher outboxDispatcher;
+    private final ObjectMapper objectMapper;
+    
+    /**
+     * Adds an event to the current transaction; it is only written if the transaction commits.
+     *
+     * @param payload serialized to JSON right away, so later changes to it are not recorded
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(DomainEventType type, Long clubId, Long aggregateId, Object payload) {
+        pendingEvents().add(new PendingEvent(type, clubId, tenantKeyResolver.companyIdOf(clubId), aggregateId, toJson(payload)));
+    }
+    
+    private List<PendingEvent> pendingEvents() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof Flush flush && flush.owner() == this) {
+                return flush.events;
+            }
+        }
+        Flush flush = new Flush();
+        TransactionSynchronizationManager.registerSynchronization(flush);
+        return flush.events;
+    }
+    
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Event payload is not serializable: " + payload, e);
+        }
+    }
+    
+    private record PendingEvent(DomainEventType type, Long clubId, Long companyId, Long aggregateId, String payload) {
+    }
+    
+    private final class Flush implements TransactionSynchronization {
+        
+        private final List<PendingEvent> events = new ArrayList<>();
+        
+        private OutboxWriter owner() {
+            return OutboxWriter.this;
+        }
+        
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Clubs in id order, so two transactions touching the same clubs lock them in the same order
+            Map<Long, List<PendingEvent>> byClub = new TreeMap<>();
+            events.forEach(event -> byClub.computeIfAbsent(event.clubId(), id -> new ArrayList<>()).add(event));
+            
+            List<OutboxRepository.NewEvent> rows = new ArrayList<>(events.size());
+            byClub.forEach((clubId, clubEvents) -> {
+                long sequence = outboxRepository.allocateSequences(clubId, clubEvents.size()) - clubEvents.size();
+                for (PendingEvent event : clubEvents) {
+                    rows.add(new OutboxRepository.NewEvent(clubId, event.companyId(), ++sequence,
+                            event.type(), event.aggregateId(), event.payload()));
+                }
+            });
+            outboxRepository.insert(rows);
+        }
+        
+        @Override
+        public void afterCommit() {
+            outboxDispatcher.wakeUp();
+        }
+    }
+}
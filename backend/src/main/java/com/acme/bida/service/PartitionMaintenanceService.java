@@ -0,0 +1,157 @@
+package com.acme.bida.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the monthly partitions of bills, orders and order_items ahead of time and archives old
+ * ones. Archiving detaches a partition (so queries stop seeing it), dumps it with COPY to a gzip
+ * CSV in the archive directory and, when configured, drops it. A failed dump leaves the detached
+ * table in place, so no data is lost.
+ */
+@Service
+@Slf4j
+public class PartitionMaintenanceService {
+    
+    static final List<String> PARTITIONED_TABLES = List.of("bills", "orders", "order_items");
+    
+    private static final Pattern MONTH_PARTITION = Pattern.compile("^(bills|orders|order_items)_p(\\d{4})_(\\d{2})$");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final boolean archiveEnabled;
+    private final int retainMonths;
+    private final Path archiveDirectory;
+    private final boolean dropAfterArchive;
+    
+    public PartitionMaintenanceService(JdbcTemplate jdbcTemplate,
+                                       @Value("${partitioning.months-ahead:3}") int monthsAhead,
+                                       @Value("${partitioning.archive.enabled:false}") boolean archiveEnabled,
+                                       @Value("${partitioning.archive.retain-months:24}") int retainMonths,
+                                       @Value("${partitioning.archive.directory:./archive}") Path archiveDirectory,
+                                       @Value("${partitioning.archive.drop-after-archive:false}") boolean dropAfterArchive) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.archiveEnabled = archiveEnabled;
+        this.retainMonths = Math.max(1, retainMonths);
+        this.archiveDirectory = archiveDirectory;
+        this.dropAfterArchive = dropAfterArchive;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        ensureFuturePartitions();
+    }
+    
+    @Scheduled(cron = "${partitioning.maintenance-cron:0 15 3 * * *}")
+    public void runMaintenance() {
+        ensureFuturePartitions();
+        if (archiveEnabled) {
+            archiveOldPartitions();
+        }
+    }
+    
+    /** Creates the partitions for the current month and {@code months-ahead} months after it. */
+    public void ensureFuturePartitions() {
+        YearMonth current = YearMonth.now();
+        for (String table : PARTITIONED_TABLES) {
+            for (int i = 0; i <= monthsAhead; i++) {
+                LocalDate month = current.plusMonths(i).atDay(1);
+                jdbcTemplate.queryForObject("SELECT create_monthly_partition(?, ?)", String.class, table, Date.valueOf(month));
+            }
+        }
+        log.debug("Monthly partitions ensured through {}", current.plusMonths(monthsAhead));
+    }
+    
+    /**
+     * Detaches, dumps and optionally drops every month partition older than {@code retain-months}.
+     *
+     * @return the names of the partitions that were archived
+     */
+    public List<String> archiveOldPartitions() {
+        YearMonth cutoff = YearMonth.now().minusMonths(retainMonths);
+        List<String> archived = new ArrayList<>();
+        for (String table : PARTITIONED_TABLES) {
+            for (String partition : attachedPartitions(table)) {
+                Matcher matcher = MONTH_PARTITION.matcher(partition);
+                if (!matcher.matches()) {
+                    continue;
+                }
+                YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(2)), Integer.parseInt(matcher.group(3)));
+                if (month.isBefore(cutoff)) {
+                    archive(table, partition);
+                    archived.add(partition);
+                }
+            }
+        }
+        if (!archived.isEmpty()) {
+            log.info("Archived {} partition(s) older than {}: {}", archived.size(), cutoff.format(PARTITION_SUFFIX), archived);
+        }
+        return archived;
+    }
+    
+    private List<String> attachedPartitions(String table) {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = ? AND p.relnamespace = to_regnamespace(current_schema()) ORDER BY c.relname",
+                String.class, table);
+    }
+    
+    private void archive(String table, String partition) {
+        // Names come from the catalog and match MONTH_PARTITION, so quoting them is enough
+        jdbcTemplate.execute("ALTER TABLE \"" + table + "\" DETACH PARTITION \"" + partition + "\"");
+        try {
+            Path file = dump(partition);
+            log.info("Partition {} detached and dumped to {}", partition, file);
+        } catch (IOException | SQLException e) {
+            log.error("Partition {} was detached but could not be dumped; keeping the table", partition, e);
+            return;
+        }
+        if (dropAfterArchive) {
+            jdbcTemplate.execute("DROP TABLE \"" + partition + "\"");
+        }
+    }
+    
+    private Path dump(String partition) throws IOException, SQLException {
+        Files.createDirectories(archiveDirectory);
+        Path target = archiveDirectory.resolve(partition + ".csv.gz");
+        Path temp = archiveDirectory.resolve(partition + ".csv.gz.tmp");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+            jdbcTemplate.execute((Connection connection) -> {
+                try {
+                    return connection.unwrap(PGConnection.class).getCopyAPI()
+                            .copyOut("COPY \"" + partition + "\" TO STDOUT WITH (FORMAT csv, HEADER)", out);
+                } catch (IOException e) {
+                    throw new SQLException("COPY of " + partition + " failed", e);
+                }
+            });
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return target;
+    }
+}
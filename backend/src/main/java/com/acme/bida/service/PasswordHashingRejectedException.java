@@ -0,0 +1,21 @@
+package com.acme.bida.service;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a password hash or verification cannot be admitted to the hashing executor,
+ * either because its queue is full (429) or because the task waited too long to run (503).
+ */
+@Getter
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final HttpStatus status;
+
+    public PasswordHashingRejectedException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+}
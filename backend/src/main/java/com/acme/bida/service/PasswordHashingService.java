@@ -0,0 +1,129 @@
+package com.acme.bida.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt hashing and verification on a dedicated, bounded executor so that bursts of logins
+ * cannot take every CPU away from the request threads. Work that cannot be queued is rejected
+ * with 429, work that waits longer than the configured timeout is abandoned with 503.
+ */
+@Service
+@Slf4j
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+    private final Timer verifyTimer;
+    private final Timer encodeTimer;
+    private final Counter queueFullCounter;
+    private final Counter timeoutCounter;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${auth.password-hashing.concurrency:0}") int concurrency,
+                                  @Value("${auth.password-hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${auth.password-hashing.max-wait:2s}") Duration maxWait) {
+        this.passwordEncoder = passwordEncoder;
+        this.maxWait = maxWait;
+
+        int threads = concurrency > 0
+                ? concurrency
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.verifyTimer = Timer.builder("auth.password.hashing")
+                .tag("operation", "verify")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("auth.password.hashing")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.queueFullCounter = Counter.builder("auth.password.hashing.rejected")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("auth.password.hashing.rejected")
+                .tag("reason", "timeout")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+
+        log.info("Password hashing executor started with {} threads and queue capacity {}", threads, queueCapacity);
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return submit(() -> verifyTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    public String encode(String rawPassword) {
+        return submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /**
+     * True when the stored hash was produced with weaker settings than currently configured.
+     * This only inspects the hash prefix and is cheap enough to call on the request thread.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            queueFullCounter.increment();
+            throw new PasswordHashingRejectedException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many concurrent authentication requests, please retry shortly");
+        }
+
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            timeoutCounter.increment();
+            throw new PasswordHashingRejectedException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Authentication is temporarily overloaded, please retry shortly");
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Authentication was interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
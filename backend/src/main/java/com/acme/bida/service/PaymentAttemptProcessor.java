@@ -0,0 +1,179 @@
+package com.acme.bida.service;
+
+import com.acme.bida.repository.PaymentAttemptRepository;
+import com.acme.bida.repository.RevenueRollupRepository;
+import com.acme.bida.service.event.DomainEventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies stored payment webhooks to their bills. Each run claims a batch of due attempts and
+ * settles it with a fixed number of statements in one transaction: decline, mark the matching
+ * bills PAID, add them to {@code revenue_rollups} and record the outcome of every attempt.
+ * <p>
+ * If the batch fails, its attempts are retried one at a time so a single bad row cannot hold
+ * back the others; an attempt that still fails is rescheduled with exponential backoff and
+ * moved to DEAD after {@code payments.processor.max-attempts}.
+ */
+@Service
+@Slf4j
+public class PaymentAttemptProcessor {
+    
+    private final PaymentAttemptRepository paymentAttemptRepository;
+    private final RevenueRollupRepository revenueRollupRepository;
+    private final OutboxWriter outboxWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Timer batchTimer;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    
+    public PaymentAttemptProcessor(PaymentAttemptRepository paymentAttemptRepository,
+                                   RevenueRollupRepository revenueRollupRepository,
+                                   OutboxWriter outboxWriter,
+                                   TransactionTemplate transactionTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${payments.processor.batch-size:200}") int batchSize,
+                                   @Value("${payments.processor.max-attempts:8}") int maxAttempts,
+                                   @Value("${payments.processor.retry-backoff:5s}") Duration retryBackoff) {
+        this.paymentAttemptRepository = paymentAttemptRepository;
+        this.revenueRollupRepository = revenueRollupRepository;
+        this.outboxWriter = outboxWriter;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.batchTimer = Timer.builder("payments.attempts.batch")
+                .description("Time to settle one batch of payment attempts")
+                .register(meterRegistry);
+    }
+    
+    /** Drains every due attempt, batch after batch, until a batch comes back short. */
+    @Scheduled(fixedDelayString = "${payments.processor.interval:500}")
+    public void processDue() {
+        int claimed;
+        do {
+            claimed = processBatch();
+        } while (claimed == batchSize);
+    }
+    
+    /**
+     * Settles one batch of due attempts.
+     *
+     * @return the number of attempts claimed
+     */
+    public int processBatch() {
+        List<Long> claimed = new ArrayList<>();
+        try {
+            return batchTimer.record(() -> transactionTemplate.execute(status -> {
+                claimed.addAll(paymentAttemptRepository.claimDue(batchSize));
+                settle(claimed);
+                return claimed.size();
+            }));
+        } catch (RuntimeException e) {
+            if (claimed.isEmpty()) {
+                throw e;
+            }
+            log.warn("Payment batch of {} attempt(s) failed, settling them one by one: {}", claimed.size(), e.getMessage());
+            claimed.forEach(this::processOne);
+            return claimed.size();
+        }
+    }
+    
+    private void processOne(Long attemptId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> settle(paymentAttemptRepository.claimDue(List.of(attemptId))));
+        } catch (RuntimeException e) {
+            String error = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("Payment attempt {} failed: {}", attemptId, error);
+            paymentAttemptRepository.scheduleRetry(attemptId, error, retryBackoff, maxAttempts);
+            count("retry", 1);
+        }
+    }
+    
+    private void settle(List<Long> attemptIds) {
+        if (attemptIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> remaining = new HashSet<>(attemptIds);
+        
+        List<Long> declined = paymentAttemptRepository.rejectDeclined(attemptIds, now);
+        declined.forEach(remaining::remove);
+        count("declined", declined.size());
+        if (remaining.isEmpty()) {
+            return;
+        }
+        
+        List<PaymentAttemptRepository.AppliedPayment> applied = paymentAttemptRepository.applyToBills(remaining, now);
+        if (!applied.isEmpty()) {
+            List<Long> appliedAttempts = applied.stream().map(PaymentAttemptRepository.AppliedPayment::attemptId).toList();
+            paymentAttemptRepository.markPaid(appliedAttempts, now);
+            revenueRollupRepository.addPaidBills(applied.stream().map(PaymentAttemptRepository.AppliedPayment::billId).toList());
+            applied.forEach(payment -> outboxWriter.append(DomainEventType.BILL_PAID, payment.clubId(), payment.billId(), Map.of(
+                    "billId", payment.billId(),
+                    "paymentMethod", payment.provider(),
+                    "totalAmount", payment.amount())));
+            appliedAttempts.forEach(remaining::remove);
+            count("paid", applied.size());
+        }
+        if (remaining.isEmpty()) {
+            return;
+        }
+        
+        List<PaymentAttemptRepository.FinishedPayment> finished = paymentAttemptRepository.findUnapplied(remaining).stream()
+                .map(PaymentAttemptProcessor::classify)
+                .toList();
+        paymentAttemptRepository.finish(finished, now);
+        finished.forEach(payment -> count(PaymentAttemptRepository.PAID.equals(payment.status()) ? "already_paid" : "rejected", 1));
+    }
+    
+    /**
+     * Explains why a successful payment did not move its bill to PAID. A bill already paid with
+     * this very transaction (for example by a cashier entering the reference) counts as paid;
+     * everything else needs a person to look at it, typically to refund the customer.
+     */
+    private static PaymentAttemptRepository.FinishedPayment classify(PaymentAttemptRepository.UnappliedPayment payment) {
+        if (!payment.billExists()) {
+            return rejected(payment, "Unknown bill");
+        }
+        if ("PAID".equals(payment.billStatus()) && payment.providerTransactionId().equals(payment.billReference())) {
+            return new PaymentAttemptRepository.FinishedPayment(payment.attemptId(), PaymentAttemptRepository.PAID, null);
+        }
+        if ("PENDING".equals(payment.billStatus())) {
+            return rejected(payment, "Amount " + payment.amount() + " does not match bill total " + payment.billTotal());
+        }
+        return rejected(payment, "Bill is already " + payment.billStatus()
+                + (payment.billReference() != null ? " with reference " + payment.billReference() : ""));
+    }
+    
+    private static PaymentAttemptRepository.FinishedPayment rejected(PaymentAttemptRepository.UnappliedPayment payment, String reason) {
+        return new PaymentAttemptRepository.FinishedPayment(payment.attemptId(), PaymentAttemptRepository.REJECTED, reason);
+    }
+    
+    private void count(String outcome, int amount) {
+        if (amount > 0) {
+            Counter.builder("payments.attempts")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .increment(amount);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.acme.bida.service;
+
+import com.acme.bida.domain.entity.Bill;
+import com.acme.bida.dto.PaymentReplayRequest;
+import com.acme.bida.dto.PaymentWebhookRequest;
+import com.acme.bida.repository.BillRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for MoMo and ZaloPay, for load and failure testing. It pays the given bills by
+ * posting signed webhooks to this application's own endpoint, delivering each one several times
+ * in shuffled order the way providers retry at closing time. Only enabled with
+ * {@code payments.stub.enabled}.
+ */
+@Service
+@ConditionalOnProperty(name = "payments.stub.enabled", havingValue = "true")
+@Slf4j
+public class PaymentProviderStub {
+    
+    private static final int DECLINED_RESULT_CODE = 1006;
+    
+    private final BillRepository billRepository;
+    private final PaymentWebhookService paymentWebhookService;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+    private final String baseUrl;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    
+    public PaymentProviderStub(BillRepository billRepository,
+                               PaymentWebhookService paymentWebhookService,
+                               ObjectMapper objectMapper,
+                               Environment environment,
+                               @Value("${payments.stub.base-url:}") String baseUrl) {
+        this.billRepository = billRepository;
+        this.paymentWebhookService = paymentWebhookService;
+        this.objectMapper = objectMapper;
+        this.environment = environment;
+        this.baseUrl = baseUrl;
+    }
+    
+    public PaymentReplayResult replay(PaymentReplayRequest request) {
+        String url = webhookUrl(request.getProvider());
+        List<HttpRequest> deliveries = new ArrayList<>();
+        int bills = 0;
+        for (Long billId : request.getBillIds()) {
+            Bill bill = billRepository.findById(billId).orElse(null);
+            if (bill == null) {
+                continue;
+            }
+            bills++;
+            boolean declined = ThreadLocalRandom.current().nextDouble() < request.getDeclineRate();
+            byte[] body = body(PaymentWebhookRequest.builder()
+                    .transactionId("stub-" + UUID.randomUUID())
+                    .billId(billId)
+                    .amount(bill.getTotalAmount())
+                    .resultCode(declined ? DECLINED_RESULT_CODE : 0)
+                    .message(declined ? "Declined by stub" : "Successful")
+                    .build());
+            HttpRequest delivery = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(Duration.ofSeconds(10))
+                    .header("Content-Type", "application/json")
+                    .header(PaymentWebhookService.SIGNATURE_HEADER, paymentWebhookService.sign(request.getProvider(), body))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+            for (int i = 0; i < request.getDeliveries(); i++) {
+                deliveries.add(delivery);
+            }
+        }
+        Collections.shuffle(deliveries);
+        
+        AtomicInteger acknowledged = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        long startNanos = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(request.getConcurrency())) {
+            for (HttpRequest delivery : deliveries) {
+                executor.execute(() -> {
+                    try {
+                        HttpResponse<Void> response = httpClient.send(delivery, HttpResponse.BodyHandlers.discarding());
+                        (response.statusCode() == 200 ? acknowledged : failed).incrementAndGet();
+                    } catch (IOException | InterruptedException e) {
+                        failed.incrementAndGet();
+                    }
+                });
+            }
+        }
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("Stub replayed {} webhook(s) for {} bill(s) in {} ms: {} acknowledged, {} failed",
+                deliveries.size(), bills, elapsedMillis, acknowledged.get(), failed.get());
+        return new PaymentReplayResult(bills, deliveries.size(), acknowledged.get(), failed.get(), elapsedMillis);
+    }
+    
+    private String webhookUrl(Bill.PaymentMethod provider) {
+        String base = baseUrl.isBlank()
+                ? "http://localhost:" + environment.getProperty("local.server.port", "8080")
+                        + environment.getProperty("server.servlet.context-path", "")
+                : baseUrl;
+        return base + "/payments/webhooks/" + provider.name().toLowerCase(Locale.ROOT);
+    }
+    
+    private byte[] body(PaymentWebhookRequest request) {
+        try {
+            return objectMapper.writeValueAsBytes(request);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
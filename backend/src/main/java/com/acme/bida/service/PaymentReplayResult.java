@@ -0,0 +1,8 @@
+package com.acme.bida.service;
+
+/**
+ * Summary of a stub replay: {@code acknowledged} counts 200 responses, {@code failed} every other
+ * status or I/O error.
+ */
+public record PaymentReplayResult(int bills, int sent, int acknowledged, int failed, long elapsedMillis) {
+}
@@ -0,0 +1,20 @@
+package com.acme.bida.service;
+
+/**
+ * Outcome of receiving one payment webhook. Both ACCEPTED and DUPLICATE mean the attempt is
+ * stored and the provider can stop retrying.
+ */
+public record PaymentWebhookResult(Outcome outcome) {
+
+    public enum Outcome {
+        ACCEPTED,
+        DUPLICATE,
+        INVALID_SIGNATURE,
+        MALFORMED,
+        UNSUPPORTED_PROVIDER
+    }
+
+    public boolean acknowledged() {
+        return outcome == Outcome.ACCEPTED || outcome == Outcome.DUPLICATE;
+    }
+}
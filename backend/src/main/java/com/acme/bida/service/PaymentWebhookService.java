@@ -0,0 +1,129 @@
+package com.acme.bida.service;
+
+import com.acme.bida.domain.entity.Bill;
+import com.acme.bida.dto.PaymentWebhookRequest;
+import com.acme.bida.repository.PaymentAttemptRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Receives payment confirmations from MoMo and ZaloPay. A webhook is only verified and stored
+ * here, which keeps the response fast while providers retry aggressively; the bill itself is
+ * updated later by {@link PaymentAttemptProcessor}. Redeliveries are recognised by the unique
+ * (provider, transaction id) key and acknowledged without storing them again. A provider whose
+ * secret is not configured has every callback rejected as unsigned.
+ */
+@Service
+@Slf4j
+public class PaymentWebhookService {
+    
+    public static final String SIGNATURE_HEADER = "X-Signature";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    
+    private static final Set<Bill.PaymentMethod> PROVIDERS = EnumSet.of(Bill.PaymentMethod.MOMO, Bill.PaymentMethod.ZALOPAY);
+    
+    private final PaymentAttemptRepository paymentAttemptRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<Bill.PaymentMethod, SecretKeySpec> secrets = new EnumMap<>(Bill.PaymentMethod.class);
+    
+    public PaymentWebhookService(PaymentAttemptRepository paymentAttemptRepository,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${payments.webhook.secrets.momo:}") String momoSecret,
+                                 @Value("${payments.webhook.secrets.zalopay:}") String zaloPaySecret) {
+        this.paymentAttemptRepository = paymentAttemptRepository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        addSecret(Bill.PaymentMethod.MOMO, momoSecret);
+        addSecret(Bill.PaymentMethod.ZALOPAY, zaloPaySecret);
+    }
+    
+    private void addSecret(Bill.PaymentMethod provider, String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("No webhook secret configured for {}; its callbacks are rejected", provider);
+            return;
+        }
+        secrets.put(provider, new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+    }
+    
+    /** Maps a path segment such as {@code momo} to a provider that sends webhooks. */
+    public Optional<Bill.PaymentMethod> provider(String name) {
+        return PROVIDERS.stream()
+                .filter(method -> method.name().equals(name.toUpperCase(Locale.ROOT)))
+                .findFirst();
+    }
+    
+    public PaymentWebhookResult ingest(String providerName, byte[] body, String signature) {
+        Bill.PaymentMethod provider = provider(providerName).orElse(null);
+        if (provider == null) {
+            return count(providerName, PaymentWebhookResult.Outcome.UNSUPPORTED_PROVIDER);
+        }
+        if (signature == null || !secrets.containsKey(provider)
+                || !MessageDigest.isEqual(sign(provider, body).getBytes(StandardCharsets.US_ASCII),
+                        signature.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.US_ASCII))) {
+            return count(provider.name(), PaymentWebhookResult.Outcome.INVALID_SIGNATURE);
+        }
+        
+        PaymentWebhookRequest request;
+        try {
+            request = objectMapper.readValue(body, PaymentWebhookRequest.class);
+        } catch (IOException e) {
+            log.debug("Unreadable {} webhook: {}", provider, e.getMessage());
+            return count(provider.name(), PaymentWebhookResult.Outcome.MALFORMED);
+        }
+        if (request.getTransactionId() == null || request.getTransactionId().isBlank() || request.getTransactionId().length() > 100
+                || request.getBillId() == null || request.getAmount() == null || request.getResultCode() == null) {
+            return count(provider.name(), PaymentWebhookResult.Outcome.MALFORMED);
+        }
+        
+        int inserted = paymentAttemptRepository.insertIfAbsent(provider.name(), request.getTransactionId(),
+                request.getBillId(), request.getAmount(), request.getResultCode(),
+                new String(body, StandardCharsets.UTF_8));
+        return count(provider.name(), inserted == 1
+                ? PaymentWebhookResult.Outcome.ACCEPTED
+                : PaymentWebhookResult.Outcome.DUPLICATE);
+    }
+    
+    /** Lower-case hex HMAC-SHA256 of the raw body with the provider's secret. */
+    public String sign(Bill.PaymentMethod provider, byte[] body) {
+        SecretKeySpec secret = secrets.get(provider);
+        if (secret == null) {
+            throw new IllegalStateException("No webhook secret configured for " + provider);
+        }
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(secret);
+            return HexFormat.of().formatHex(mac.doFinal(body));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+    
+    private PaymentWebhookResult count(String provider, PaymentWebhookResult.Outcome outcome) {
+        Counter.builder("payments.webhooks")
+                .tag("provider", PROVIDERS.stream().anyMatch(method -> method.name().equals(provider)) ? provider : "other")
+                .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry)
+                .increment();
+        return new PaymentWebhookResult(outcome);
+    }
+}
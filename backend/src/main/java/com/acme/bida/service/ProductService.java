@@ -0,0 +1,77 @@
+package com.acme.bida.service;
+
+import com.acme.bida.domain.entity.Product;
+import com.acme.bida.dto.ProductRequest;
+import com.acme.bida.repository.ClubRepository;
+import com.acme.bida.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+/**
+ * Product writes. Every change invalidates the club's cached menu after commit.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductService {
+    
+    private final ProductRepository productRepository;
+    private final ClubRepository clubRepository;
+    private final MenuCacheService menuCacheService;
+    
+    @Transactional
+    public Optional<Product> create(ProductRequest request) {
+        if (request.getClubId() == null || !clubRepository.existsById(request.getClubId())) {
+            return Optional.empty();
+        }
+        Product product = productRepository.save(Product.builder()
+                .clubId(request.getClubId())
+                .name(request.getName())
+                .description(request.getDescription())
+                .category(request.getCategory())
+                .price(request.getPrice())
+                .isAvailable(request.getIsAvailable() == null || request.getIsAvailable())
+                .build());
+        invalidateMenuAfterCommit(product.getClubId());
+        return Optional.of(product);
+    }
+    
+    @Transactional
+    public Optional<Product> update(Long id, ProductRequest request) {
+        return productRepository.findById(id).map(product -> {
+            product.setName(request.getName());
+            product.setDescription(request.getDescription());
+            product.setCategory(request.getCategory());
+            product.setPrice(request.getPrice());
+            if (request.getIsAvailable() != null) {
+                product.setIsAvailable(request.getIsAvailable());
+            }
+            invalidateMenuAfterCommit(product.getClubId());
+            return productRepository.save(product);
+        });
+    }
+    
+    @Transactional
+    public Optional<Product> setAvailability(Long id, boolean available) {
+        return productRepository.findById(id).map(product -> {
+            product.setIsAvailable(available);
+            invalidateMenuAfterCommit(product.getClubId());
+            return productRepository.save(product);
+        });
+    }
+    
+    private void invalidateMenuAfterCommit(Long clubId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                menuCacheService.invalidate(clubId);
+            }
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package com.acme.bida.service;
+
+import com.acme.bida.dto.RevenueReportRow;
+import com.acme.bida.repository.RevenueRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Revenue reports read only {@code revenue_rollups}, so their cost depends on the requested
+ * range and never on how many bills the company has. Dates and hours are local to each club
+ * ({@code clubs.time_zone}), so a company report adds up each club's own business days.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RevenueReportService {
+    
+    public enum Granularity {
+        DAY,
+        HOUR
+    }
+    
+    private final RevenueRollupRepository revenueRollupRepository;
+    
+    /** Revenue of one club, or of the whole company when {@code clubId} is null, for [from, to). */
+    @Transactional(readOnly = true)
+    public List<RevenueReportRow> report(Long clubId, Long companyId, LocalDate from, LocalDate to, Granularity granularity) {
+        return granularity == Granularity.HOUR
+                ? revenueRollupRepository.findHourly(clubId, companyId, from, to)
+                : revenueRollupRepository.findDaily(clubId, companyId, from, to);
+    }
+    
+    /** Recomputes the rollups of one club, or all clubs when {@code clubId} is null, from raw bills. */
+    @Transactional
+    public int rebuild(Long clubId) {
+        int rows = revenueRollupRepository.rebuild(clubId);
+        log.info("Rebuilt revenue rollups for {}: {} row(s)", clubId == null ? "all clubs" : "club " + clubId, rows);
+        return rows;
+    }
+}
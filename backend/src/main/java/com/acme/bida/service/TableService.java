@@ -0,0 +1,53 @@
+package com.acme.bida.service;
+
+import com.acme.bida.domain.entity.Table;
+import com.acme.bida.repository.TableRepository;
+import com.acme.bida.service.event.DomainEventType;
+import com.acme.bida.service.event.TableStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TableService {
+    
+    private final TableRepository tableRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxWriter outboxWriter;
+    
+    /**
+     * Moves a table from {@code from} to {@code to} only if it is still in {@code from}.
+     * The check and the write are one UPDATE statement, so concurrent callers cannot both win
+     * and no row lock is held beyond that statement.
+     */
+    @Transactional
+    public TableTransitionResult transition(Long tableId, Table.TableStatus from, Table.TableStatus to) {
+        if (!from.canTransitionTo(to)) {
+            return new TableTransitionResult(TableTransitionResult.Outcome.INVALID_TRANSITION,
+                    tableRepository.findById(tableId).orElse(null));
+        }
+        
+        int updated = tableRepository.transitionStatus(tableId, from, to, LocalDateTime.now());
+        Table table = tableRepository.findCurrentById(tableId).orElse(null);
+        if (table == null) {
+            return new TableTransitionResult(TableTransitionResult.Outcome.NOT_FOUND, null);
+        }
+        if (updated == 0) {
+            log.debug("Table {} transition {} -> {} lost, current status is {}", tableId, from, to, table.getStatus());
+            return new TableTransitionResult(TableTransitionResult.Outcome.CONFLICT, table);
+        }
+        
+        eventPublisher.publishEvent(new TableStatusChangedEvent(table));
+        outboxWriter.append(DomainEventType.TABLE_STATUS_CHANGED, table.getClubId(), tableId,
+                Map.of("tableId", tableId, "from", from, "to", to));
+        log.debug("Table {} status changed {} -> {}", tableId, from, to);
+        return new TableTransitionResult(TableTransitionResult.Outcome.APPLIED, table);
+    }
+}
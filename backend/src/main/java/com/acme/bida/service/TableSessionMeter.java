@@ -0,0 +1,105 @@
+package com.acme.bida.service;
+
+import com.acme.bida.domain.entity.TableSession;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory running fee meter for every open table session. Each meter is an immutable set of
+ * primitives (start, pause, accumulated pause, rate in minor units) that is replaced on the rare
+ * state changes, so reading a running fee is plain long arithmetic with no locking or allocation.
+ * {@link BigDecimal} only appears when a fee is finalized for a bill.
+ */
+@Component
+public class TableSessionMeter {
+
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+    private static final int MINOR_UNIT_SCALE = 2;
+
+    private final Map<Long, Map<Long, Meter>> metersByClub = new ConcurrentHashMap<>();
+
+    public void track(TableSession session) {
+        Map<Long, Meter> clubMeters = metersByClub.computeIfAbsent(session.getClubId(), id -> new ConcurrentHashMap<>());
+        if (session.getStatus() == TableSession.SessionStatus.CLOSED) {
+            clubMeters.remove(session.getTableId());
+        } else {
+            clubMeters.put(session.getTableId(), Meter.from(session));
+        }
+    }
+
+    public void clear() {
+        metersByClub.clear();
+    }
+
+    public Meter meter(Long clubId, Long tableId) {
+        return metersByClub.getOrDefault(clubId, Map.of()).get(tableId);
+    }
+
+    public Collection<Meter> meters(Long clubId) {
+        return metersByClub.getOrDefault(clubId, Map.of()).values();
+    }
+
+    public List<Meter> snapshot(Long clubId) {
+        return new ArrayList<>(meters(clubId));
+    }
+
+    public static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(MINOR_UNIT_SCALE).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal fromMinorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, MINOR_UNIT_SCALE);
+    }
+
+    /**
+     * Fees accrue per completed minute of play, so the dashboard and the final bill agree
+     * for the same instant.
+     */
+    public record Meter(
+            long sessionId,
+            long tableId,
+            long clubId,
+            long startedAtMillis,
+            long pausedAtMillis,
+            long pausedMillis,
+            long ratePerHourMinor
+    ) {
+
+        static Meter from(TableSession session) {
+            long pausedAt = session.getPausedAt() != null ? toEpochMillis(session.getPausedAt()) : 0L;
+            return new Meter(
+                    session.getId(),
+                    session.getTableId(),
+                    session.getClubId(),
+                    toEpochMillis(session.getStartedAt()),
+                    pausedAt,
+                    session.getPausedSeconds() * 1000L,
+                    toMinorUnits(session.getHourlyRate()));
+        }
+
+        public boolean paused() {
+            return pausedAtMillis != 0L;
+        }
+
+        public long billableMinutes(long nowMillis) {
+            long end = paused() ? pausedAtMillis : nowMillis;
+            return Math.max(0L, end - startedAtMillis - pausedMillis) / MILLIS_PER_MINUTE;
+        }
+
+        public long feeMinor(long nowMillis) {
+            return billableMinutes(nowMillis) * ratePerHourMinor / 60L;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.acme.bida.service;
+
+import com.acme.bida.domain.entity.TableSession;
+
+/**
+ * Outcome of a table session command; {@code session} is set when the command was applied.
+ */
+public record TableSessionResult(Outcome outcome, TableSession session) {
+
+    public enum Outcome {
+        APPLIED,
+        TABLE_NOT_AVAILABLE,
+        NO_OPEN_SESSION,
+        INVALID_STATE,
+        NOT_FOUND
+    }
+
+    public static TableSessionResult of(Outcome outcome) {
+        return new TableSessionResult(outcome, null);
+    }
+}
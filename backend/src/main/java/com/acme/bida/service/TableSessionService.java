@@ -0,0 +1,155 @@
+package com.acme.bida.service;
+
+import com.acme.bida.domain.entity.Table;
+import com.acme.bida.domain.entity.TableSession;
+import com.acme.bida.repository.TableRepository;
+import com.acme.bida.repository.TableSessionRepository;
+import com.acme.bida.service.event.DomainEventType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Starts, pauses, resumes and stops play sessions on tables. Every state change is checkpointed
+ * to {@code table_sessions} and applied to the {@link TableSessionMeter} once committed, so running
+ * sessions survive a restart.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TableSessionService {
+    
+    private static final EnumSet<TableSession.SessionStatus> OPEN_STATUSES =
+            EnumSet.of(TableSession.SessionStatus.RUNNING, TableSession.SessionStatus.PAUSED);
+    
+    private final TableSessionRepository tableSessionRepository;
+    private final TableRepository tableRepository;
+    private final TableService tableService;
+    private final TableSessionMeter meter;
+    private final OutboxWriter outboxWriter;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreOpenSessions() {
+        meter.clear();
+        List<TableSession> open = tableSessionRepository.findByStatusIn(OPEN_STATUSES);
+        open.forEach(meter::track);
+        log.info("Restored {} open table session(s) into the fee meter", open.size());
+    }
+    
+    @Transactional
+    public TableSessionResult start(Long tableId) {
+        Optional<Table> table = tableRepository.findById(tableId);
+        if (table.isEmpty()) {
+            return TableSessionResult.of(TableSessionResult.Outcome.NOT_FOUND);
+        }
+        Table.TableStatus from = table.get().getStatus() == Table.TableStatus.RESERVED
+                ? Table.TableStatus.RESERVED
+                : Table.TableStatus.AVAILABLE;
+        TableTransitionResult transition = tableService.transition(tableId, from, Table.TableStatus.OCCUPIED);
+        if (!transition.applied()) {
+            return TableSessionResult.of(TableSessionResult.Outcome.TABLE_NOT_AVAILABLE);
+        }
+        
+        TableSession session = tableSessionRepository.save(TableSession.builder()
+                .tableId(tableId)
+                .clubId(table.get().getClubId())
+                .status(TableSession.SessionStatus.RUNNING)
+                .hourlyRate(table.get().getHourlyRate())
+                .startedAt(LocalDateTime.now())
+                .pausedSeconds(0L)
+                .build());
+        trackAfterCommit(session);
+        outboxWriter.append(DomainEventType.TABLE_SESSION_STARTED, session.getClubId(), session.getId(),
+                Map.of("sessionId", session.getId(), "tableId", tableId, "startedAt", session.getStartedAt()));
+        return new TableSessionResult(TableSessionResult.Outcome.APPLIED, session);
+    }
+    
+    @Transactional
+    public TableSessionResult pause(Long tableId) {
+        return openSession(tableId)
+                .map(session -> {
+                    if (session.getStatus() != TableSession.SessionStatus.RUNNING) {
+                        return TableSessionResult.of(TableSessionResult.Outcome.INVALID_STATE);
+                    }
+                    session.setStatus(TableSession.SessionStatus.PAUSED);
+                    session.setPausedAt(LocalDateTime.now());
+                    return applied(tableSessionRepository.save(session));
+                })
+                .orElse(TableSessionResult.of(TableSessionResult.Outcome.NO_OPEN_SESSION));
+    }
+    
+    @Transactional
+    public TableSessionResult resume(Long tableId) {
+        return openSession(tableId)
+                .map(session -> {
+                    if (session.getStatus() != TableSession.SessionStatus.PAUSED) {
+                        return TableSessionResult.of(TableSessionResult.Outcome.INVALID_STATE);
+                    }
+                    long pausedFor = Duration.between(session.getPausedAt(), LocalDateTime.now()).toSeconds();
+                    session.setPausedSeconds(session.getPausedSeconds() + Math.max(0L, pausedFor));
+                    session.setPausedAt(null);
+                    session.setStatus(TableSession.SessionStatus.RUNNING);
+                    return applied(tableSessionRepository.save(session));
+                })
+                .orElse(TableSessionResult.of(TableSessionResult.Outcome.NO_OPEN_SESSION));
+    }
+    
+    /**
+     * Closes the table's open session and records its final fee. The table itself is left
+     * OCCUPIED; freeing it is up to the caller (e.g. closing the bill).
+     */
+    @Transactional
+    public TableSessionResult stop(Long tableId) {
+        return openSession(tableId)
+                .map(session -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    long feeMinor = TableSessionMeter.Meter.from(session).feeMinor(TableSessionMeter.toEpochMillis(now));
+                    if (session.getPausedAt() != null) {
+                        long pausedFor = Duration.between(session.getPausedAt(), now).toSeconds();
+                        session.setPausedSeconds(session.getPausedSeconds() + Math.max(0L, pausedFor));
+                        session.setPausedAt(null);
+                    }
+                    session.setStatus(TableSession.SessionStatus.CLOSED);
+                    session.setEndedAt(now);
+                    session.setTableFee(TableSessionMeter.fromMinorUnits(feeMinor));
+                    outboxWriter.append(DomainEventType.TABLE_SESSION_STOPPED, session.getClubId(), session.getId(),
+                            Map.of("sessionId", session.getId(), "tableId", tableId, "tableFee", session.getTableFee()));
+                    return applied(tableSessionRepository.save(session));
+                })
+                .orElse(TableSessionResult.of(TableSessionResult.Outcome.NO_OPEN_SESSION));
+    }
+    
+    public List<TableSessionMeter.Meter> runningMeters(Long clubId) {
+        return meter.snapshot(clubId);
+    }
+    
+    private Optional<TableSession> openSession(Long tableId) {
+        return tableSessionRepository.findByTableIdAndStatusIn(tableId, OPEN_STATUSES);
+    }
+    
+    private TableSessionResult applied(TableSession session) {
+        trackAfterCommit(session);
+        return new TableSessionResult(TableSessionResult.Outcome.APPLIED, session);
+    }
+    
+    private void trackAfterCommit(TableSession session) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                meter.track(session);
+            }
+        });
+    }
+}
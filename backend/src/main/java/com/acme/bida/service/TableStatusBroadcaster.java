@@ -0,0 +1,110 @@
+package com.acme.bida.service;
+
+import com.acme.bida.domain.entity.Table;
+import com.acme.bida.dto.TableStatusMessage;
+import com.acme.bida.dto.TableStatusView;
+import com.acme.bida.repository.TableRepository;
+import com.acme.bida.service.event.TableStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps an in-memory snapshot of every club's tables and pushes status changes to
+ * {@code /topic/clubs/{clubId}/tables}. Changes are coalesced per table and flushed on a fixed
+ * interval, so a burst of updates becomes one delta per club rather than one message per change.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TableStatusBroadcaster {
+
+    private final TableRepository tableRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final Map<Long, ClubTables> clubs = new ConcurrentHashMap<>();
+
+    public static String topicFor(Long clubId) {
+        return "/topic/clubs/" + clubId + "/tables";
+    }
+
+    public TableStatusMessage snapshot(Long clubId) {
+        ClubTables club = clubs.computeIfAbsent(clubId, this::load);
+        synchronized (club) {
+            return TableStatusMessage.builder()
+                    .type(TableStatusMessage.MessageType.SNAPSHOT)
+                    .clubId(clubId)
+                    .version(club.version)
+                    .tables(sorted(club.tables.values()))
+                    .build();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTableStatusChanged(TableStatusChangedEvent event) {
+        Table table = event.table();
+        // Clubs nobody has asked for yet are loaded fresh on first access instead
+        clubs.computeIfPresent(table.getClubId(), (clubId, club) -> {
+            synchronized (club) {
+                TableStatusView view = TableStatusView.from(table);
+                club.tables.put(table.getId(), view);
+                club.pending.put(table.getId(), view);
+            }
+            return club;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${realtime.tables.flush-interval:200}")
+    public void flushPendingChanges() {
+        clubs.forEach((clubId, club) -> {
+            TableStatusMessage delta;
+            synchronized (club) {
+                if (club.pending.isEmpty()) {
+                    return;
+                }
+                club.version++;
+                delta = TableStatusMessage.builder()
+                        .type(TableStatusMessage.MessageType.DELTA)
+                        .clubId(clubId)
+                        .version(club.version)
+                        .tables(sorted(club.pending.values()))
+                        .build();
+                club.pending.clear();
+            }
+            messagingTemplate.convertAndSend(topicFor(clubId), delta);
+            log.debug("Pushed {} table change(s) for club {} at version {}", delta.getTables().size(), clubId, delta.getVersion());
+        });
+    }
+
+    private ClubTables load(Long clubId) {
+        ClubTables club = new ClubTables();
+        for (Table table : tableRepository.findByClubId(clubId)) {
+            club.tables.put(table.getId(), TableStatusView.from(table));
+        }
+        return club;
+    }
+
+    private static List<TableStatusView> sorted(Iterable<TableStatusView> views) {
+        List<TableStatusView> result = new ArrayList<>();
+        views.forEach(result::add);
+        result.sort(Comparator.comparing(TableStatusView::getId));
+        return result;
+    }
+
+    // Guarded by its own monitor; the maps are only touched while holding it
+    private static final class ClubTables {
+        private final Map<Long, TableStatusView> tables = new HashMap<>();
+        private final Map<Long, TableStatusView> pending = new HashMap<>();
+        private long version;
+    }
+}
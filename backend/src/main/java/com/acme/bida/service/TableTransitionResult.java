@@ -0,0 +1,21 @@
+package com.acme.bida.service;
+
+import com.acme.bida.domain.entity.Table;
+
+/**
+ * Outcome of a conditional table status transition. {@code table} holds the table as it is
+ * after the attempt (the winner's state on CONFLICT) and is null only for NOT_FOUND.
+ */
+public record TableTransitionResult(Outcome outcome, Table table) {
+
+    public enum Outcome {
+        APPLIED,
+        CONFLICT,
+        INVALID_TRANSITION,
+        NOT_FOUND
+    }
+
+    public boolean applied() {
+        return outcome == Outcome.APPLIED;
+    }
+}
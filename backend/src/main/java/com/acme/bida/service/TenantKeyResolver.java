@@ -0,0 +1,38 @@
+package com.acme.bida.service;
+
+import com.acme.bida.auth.AuthenticatedPrincipal;
+import com.acme.bida.domain.entity.Club;
+import com.acme.bida.repository.ClubRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the denormalized {@code company_id} stamped on club-owned rows. Clubs are in the
+ * second-level cache, so this does not normally reach the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class TenantKeyResolver {
+    
+    private final ClubRepository clubRepository;
+    
+    public Long companyIdOf(Long clubId) {
+        return clubRepository.findById(clubId)
+                .map(Club::getCompanyId)
+                .orElseThrow(() -> new IllegalStateException("Club " + clubId + " does not exist"));
+    }
+    
+    public boolean belongsTo(Long clubId, Long companyId) {
+        return companyId != null && clubRepository.findById(clubId)
+                .map(club -> companyId.equals(club.getCompanyId()))
+                .orElse(false);
+    }
+    
+    /** Club staff may access their own club; users not bound to a club any club of their company. */
+    public boolean canAccess(AuthenticatedPrincipal principal, Long clubId) {
+        if (principal.clubId() != null) {
+            return principal.clubId().equals(clubId);
+        }
+        return belongsTo(clubId, principal.companyId());
+    }
+}
@@ -0,0 +1,11 @@
+package com.acme.bida.service.event;
+
+import java.time.OffsetDateTime;
+
+/**
+ * An event read back from the outbox. {@code sequence} increases without gaps per club;
+ * {@code payload} is the JSON object written by the service that made the change.
+ */
+public record DomainEvent(Long id, Long clubId, Long companyId, long sequence, DomainEventType type,
+                          Long aggregateId, String payload, OffsetDateTime createdAt) {
+}
@@ -0,0 +1,20 @@
+package com.acme.bida.service.event;
+
+import java.util.List;
+
+/**
+ * In-process consumer of outbox events, called by the outbox dispatcher. Delivery is at least
+ * once: a batch is redelivered when any subscriber throws, so handlers must be idempotent.
+ * Handlers run inside the transaction that marks the batch published, so database work they do
+ * through the shared connection commits together with that mark.
+ */
+public interface DomainEventSubscriber {
+
+    boolean supports(DomainEventType type);
+
+    /**
+     * Handles events of one club in sequence order. Only events whose type this subscriber
+     * {@link #supports supports} are passed.
+     */
+    void handle(List<DomainEvent> events);
+}
@@ -0,0 +1,16 @@
+package com.acme.bida.service.event;
+
+/**
+ * Kinds of events written to the outbox. The name is stored in {@code outbox_events.event_type},
+ * so constants must not be renamed once events of that type exist.
+ */
+public enum DomainEventType {
+    TABLE_STATUS_CHANGED,
+    TABLE_SESSION_STARTED,
+    TABLE_SESSION_STOPPED,
+    ORDER_PLACED,
+    ORDER_STATUS_CHANGED,
+    BILL_CLOSED,
+    BILL_PAID,
+    BILL_CANCELLED
+}
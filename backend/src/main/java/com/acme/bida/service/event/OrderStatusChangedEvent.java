@@ -0,0 +1,13 @@
+package com.acme.bida.service.event;
+
+import com.acme.bida.domain.entity.Order;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published after orders of a club have been moved to {@code status}; listeners see it once the
+ * transaction commits.
+ */
+public record OrderStatusChangedEvent(Long clubId, List<Long> orderIds, Order.OrderStatus status, LocalDateTime changedAt) {
+}
@@ -0,0 +1,16 @@
+package com.acme.bida.service.event;
+
+import com.acme.bida.domain.entity.Order;
+import com.acme.bida.domain.entity.OrderItem;
+import com.acme.bida.domain.entity.Product;
+import com.acme.bida.domain.entity.Table;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Published after orders have been placed on a table; listeners see it once the transaction commits.
+ * {@code products} holds at least every product referenced by {@code items}.
+ */
+public record OrdersPlacedEvent(Table table, List<Order> orders, List<OrderItem> items, Map<Long, Product> products) {
+}
@@ -0,0 +1,9 @@
+package com.acme.bida.service.event;
+
+import com.acme.bida.domain.entity.Table;
+
+/**
+ * Published after a table's status has been changed; listeners see it once the transaction commits.
+ */
+public record TableStatusChangedEvent(Table table) {
+}
@@ -0,0 +1,31 @@
+-- When a bill was paid; revenue is bucketed by this time and reversed in the same bucket on cancel
+ALTER TABLE bills ADD COLUMN paid_at TIMESTAMP WITH TIME ZONE;
+UPDATE bills SET paid_at = COALESCE(updated_at, created_at) WHERE status = 'PAID';
+
+-- Paid revenue per club, local day, hour, payment method and table type, maintained incrementally
+-- by the application on PAID/CANCELLED transitions. Always rebuildable from bills.
+CREATE TABLE revenue_rollups (
+    club_id BIGINT NOT NULL REFERENCES clubs(id) ON DELETE CASCADE,
+    company_id BIGINT NOT NULL REFERENCES companies(id) ON DELETE CASCADE,
+    bucket_date DATE NOT NULL,
+    bucket_hour SMALLINT NOT NULL CHECK (bucket_hour BETWEEN 0 AND 23),
+    payment_method VARCHAR(20) NOT NULL,
+    table_type VARCHAR(20) NOT NULL,
+    bill_count BIGINT NOT NULL DEFAULT 0,
+    table_fee_total DECIMAL(14,2) NOT NULL DEFAULT 0,
+    revenue_total DECIMAL(14,2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (club_id, bucket_date, bucket_hour, payment_method, table_type)
+);
+
+CREATE INDEX idx_revenue_rollups_company_date ON revenue_rollups(company_id, bucket_date);
+
+INSERT INTO revenue_rollups (club_id, company_id, bucket_date, bucket_hour, payment_method, table_type,
+                             bill_count, table_fee_total, revenue_total)
+SELECT b.club_id, b.company_id, CAST(b.paid_at AS DATE), EXTRACT(HOUR FROM b.paid_at),
+       COALESCE(b.payment_method, 'CASH'), t.type, COUNT(*), SUM(b.table_fee), SUM(b.total_amount)
+FROM bills b
+JOIN tables t ON t.id = b.table_id
+WHERE b.status = 'PAID'
+GROUP BY b.club_id, b.company_id, CAST(b.paid_at AS DATE), EXTRACT(HOUR FROM b.paid_at),
+         COALESCE(b.payment_method, 'CASH'), t.type;
@@ -0,0 +1,140 @@
+-- Monthly range partitioning on created_at for the append-heavy bills, orders and order_items.
+-- Partitioned tables need the partition key in every unique constraint, so primary keys become
+-- (id, created_at) and ids stay unique through their sequences. Foreign keys that pointed at these
+-- tables (order_items.order_id, bill_orders.*) cannot reference a partitioned table by id alone;
+-- they are dropped and the application keeps those links consistent.
+
+-- Creates the month partition of `parent` that contains `month_start`, if it does not exist yet
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent TEXT, month_start DATE)
+RETURNS TEXT AS $$
+DECLARE
+    start_date DATE := date_trunc('month', month_start)::date;
+    partition_name TEXT := format('%s_p%s', parent, to_char(start_date, 'YYYY_MM'));
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, parent, start_date, (start_date + INTERVAL '1 month')::date);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Move the current tables aside; their index-backed constraint names must be freed for the new ones
+ALTER TABLE orders RENAME TO orders_legacy;
+ALTER TABLE orders_legacy RENAME CONSTRAINT orders_pkey TO orders_legacy_pkey;
+DROP INDEX idx_orders_table_id, idx_orders_status, idx_orders_club_status_created, idx_orders_company_created;
+
+ALTER TABLE order_items RENAME TO order_items_legacy;
+ALTER TABLE order_items_legacy RENAME CONSTRAINT order_items_pkey TO order_items_legacy_pkey;
+DROP INDEX idx_order_items_club_created;
+
+ALTER TABLE bills RENAME TO bills_legacy;
+ALTER TABLE bills_legacy RENAME CONSTRAINT bills_pkey TO bills_legacy_pkey;
+DROP INDEX idx_bills_table_id, idx_bills_status, idx_bills_club_status_created, idx_bills_company_created;
+
+CREATE TABLE orders (
+    id BIGINT NOT NULL DEFAULT nextval('orders_id_seq'),
+    table_id BIGINT NOT NULL REFERENCES tables(id) ON DELETE CASCADE,
+    club_id BIGINT NOT NULL REFERENCES clubs(id) ON DELETE CASCADE,
+    company_id BIGINT NOT NULL REFERENCES companies(id) ON DELETE CASCADE,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'PREPARING', 'READY', 'DELIVERED', 'CANCELLED')),
+    total_amount DECIMAL(10,2) NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE order_items (
+    id BIGINT NOT NULL DEFAULT nextval('order_items_id_seq'),
+    order_id BIGINT NOT NULL,
+    club_id BIGINT NOT NULL REFERENCES clubs(id) ON DELETE CASCADE,
+    company_id BIGINT NOT NULL REFERENCES companies(id) ON DELETE CASCADE,
+    product_id BIGINT NOT NULL REFERENCES products(id) ON DELETE CASCADE,
+    quantity INTEGER NOT NULL CHECK (quantity > 0),
+    unit_price DECIMAL(10,2) NOT NULL,
+    total_price DECIMAL(10,2) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE bills (
+    id BIGINT NOT NULL DEFAULT nextval('bills_id_seq'),
+    table_id BIGINT NOT NULL REFERENCES tables(id) ON DELETE CASCADE,
+    club_id BIGINT NOT NULL REFERENCES clubs(id) ON DELETE CASCADE,
+    company_id BIGINT NOT NULL REFERENCES companies(id) ON DELETE CASCADE,
+    booking_id BIGINT REFERENCES bookings(id) ON DELETE SET NULL,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    table_fee DECIMAL(10,2) NOT NULL DEFAULT 0,
+    total_amount DECIMAL(10,2) NOT NULL DEFAULT 0,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'PAID', 'CANCELLED')),
+    payment_method VARCHAR(20) CHECK (payment_method IN ('CASH', 'MOMO', 'ZALOPAY', 'BANK_TRANSFER')),
+    payment_reference VARCHAR(255),
+    paid_at TIMESTAMP WITH TIME ZONE,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Month partitions from the oldest existing row up to three months ahead. The default partitions
+-- only catch rows outside the maintained range; PartitionMaintenanceService keeps them empty.
+DO $$
+DECLARE
+    first_month DATE;
+    month DATE;
+BEGIN
+    SELECT date_trunc('month', LEAST(
+               COALESCE((SELECT MIN(created_at) FROM orders_legacy), CURRENT_TIMESTAMP),
+               COALESCE((SELECT MIN(created_at) FROM order_items_legacy), CURRENT_TIMESTAMP),
+               COALESCE((SELECT MIN(created_at) FROM bills_legacy), CURRENT_TIMESTAMP)))::date
+    INTO first_month;
+    month := first_month;
+    WHILE month <= (date_trunc('month', CURRENT_TIMESTAMP) + INTERVAL '3 months')::date LOOP
+        PERFORM create_monthly_partition('orders', month);
+        PERFORM create_monthly_partition('order_items', month);
+        PERFORM create_monthly_partition('bills', month);
+        month := (month + INTERVAL '1 month')::date;
+    END LOOP;
+END;
+$$;
+
+CREATE TABLE orders_default PARTITION OF orders DEFAULT;
+CREATE TABLE order_items_default PARTITION OF order_items DEFAULT;
+CREATE TABLE bills_default PARTITION OF bills DEFAULT;
+
+INSERT INTO orders (id, table_id, club_id, company_id, user_id, status, total_amount, created_at, updated_at)
+SELECT id, table_id, club_id, company_id, user_id, status, total_amount, COALESCE(created_at, CURRENT_TIMESTAMP), updated_at
+FROM orders_legacy;
+
+INSERT INTO order_items (id, order_id, club_id, company_id, product_id, quantity, unit_price, total_price, created_at)
+SELECT id, order_id, club_id, company_id, product_id, quantity, unit_price, total_price, COALESCE(created_at, CURRENT_TIMESTAMP)
+FROM order_items_legacy;
+
+INSERT INTO bills (id, table_id, club_id, company_id, booking_id, user_id, table_fee, total_amount, status,
+                   payment_method, payment_reference, paid_at, created_at, updated_at)
+SELECT id, table_id, club_id, company_id, booking_id, user_id, table_fee, total_amount, status,
+       payment_method, payment_reference, paid_at, COALESCE(created_at, CURRENT_TIMESTAMP), updated_at
+FROM bills_legacy;
+
+-- Keep the id sequences (and their increments) with the new tables, then drop the old heaps.
+-- CASCADE removes the foreign keys from order_items_legacy and bill_orders.
+ALTER SEQUENCE orders_id_seq OWNED BY orders.id;
+ALTER SEQUENCE order_items_id_seq OWNED BY order_items.id;
+ALTER SEQUENCE bills_id_seq OWNED BY bills.id;
+DROP TABLE order_items_legacy, orders_legacy, bills_legacy CASCADE;
+
+-- Indexes are created on every partition
+CREATE INDEX idx_orders_table_id ON orders(table_id);
+CREATE INDEX idx_orders_status ON orders(status);
+CREATE INDEX idx_orders_club_status_created ON orders(club_id, status, created_at) INCLUDE (total_amount);
+CREATE INDEX idx_orders_company_created ON orders(company_id, created_at);
+CREATE INDEX idx_order_items_order_id ON order_items(order_id);
+CREATE INDEX idx_order_items_club_created ON order_items(club_id, created_at) INCLUDE (product_id, quantity, total_price);
+CREATE INDEX idx_bills_table_id ON bills(table_id);
+CREATE INDEX idx_bills_status ON bills(status);
+CREATE INDEX idx_bills_club_status_created ON bills(club_id, status, created_at) INCLUDE (total_amount, table_fee);
+CREATE INDEX idx_bills_company_created ON bills(company_id, created_at);
+
+-- Used by the unbilled-order check when closing a bill
+CREATE INDEX idx_bill_orders_order_id ON bill_orders(order_id);
+
+CREATE TRIGGER update_orders_updated_at BEFORE UPDATE ON orders FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+CREATE TRIGGER update_bills_updated_at BEFORE UPDATE ON bills FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
@@ -0,0 +1,17 @@
+-- Refresh tokens are opaque random strings; only their SHA-256 hex digest is stored in `token`.
+-- A token is single use: rotating it sets used_at, and presenting a used token again revokes
+-- every session of the user. No tokens were persisted before, so the table starts empty.
+DELETE FROM refresh_tokens;
+ALTER TABLE refresh_tokens ADD COLUMN used_at TIMESTAMP WITH TIME ZONE;
+
+-- The UNIQUE constraint on token already provides this index
+DROP INDEX idx_refresh_tokens_token;
+-- Drives the batched purge of expired rows
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens(expires_at);
+
+-- Access tokens issued to a user before revoked_before are rejected. Loaded into memory at startup
+-- and removed once every affected access token has expired.
+CREATE TABLE token_revocations (
+    user_id BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    revoked_before TIMESTAMP WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,25 @@
+-- Payment confirmations pushed by MoMo and ZaloPay. A webhook is acknowledged as soon as its row
+-- exists, and the unique key turns provider redeliveries into no-ops. Rows are applied to bills
+-- asynchronously; RETRY rows wait for next_attempt_at and DEAD rows ran out of attempts.
+-- There is no foreign key to bills: its primary key is (id, created_at) since it was partitioned.
+CREATE TABLE payment_attempts (
+    id BIGSERIAL PRIMARY KEY,
+    provider VARCHAR(20) NOT NULL CHECK (provider IN ('MOMO', 'ZALOPAY')),
+    provider_transaction_id VARCHAR(100) NOT NULL,
+    bill_id BIGINT NOT NULL,
+    amount DECIMAL(10,2) NOT NULL,
+    result_code INTEGER NOT NULL,
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'RETRY', 'PAID', 'REJECTED', 'DEAD')),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error TEXT,
+    received_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT uq_payment_attempts_provider_transaction UNIQUE (provider, provider_transaction_id)
+);
+
+-- The processor's queue; only rows still waiting to be applied are indexed
+CREATE INDEX idx_payment_attempts_due ON payment_attempts(next_attempt_at, id) WHERE status IN ('PENDING', 'RETRY');
+CREATE INDEX idx_payment_attempts_bill_id ON payment_attempts(bill_id);
+CREATE INDEX idx_payment_attempts_dead ON payment_attempts(id) WHERE status = 'DEAD';
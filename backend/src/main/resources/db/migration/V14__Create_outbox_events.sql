@@ -0,0 +1,26 @@
+-- Transactional outbox: domain events are inserted in the same transaction as the table, order
+-- or bill change they describe, and published to in-process subscribers by OutboxDispatcher.
+-- sequence orders the events of one club. It is taken from outbox_club_sequences just before
+-- commit, so the row lock on the club's counter is held only while the transaction commits
+-- and sequences commit in the order they were handed out, without gaps.
+CREATE TABLE outbox_club_sequences (
+    club_id BIGINT PRIMARY KEY,
+    last_sequence BIGINT NOT NULL
+);
+
+CREATE TABLE outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    club_id BIGINT NOT NULL,
+    company_id BIGINT,
+    sequence BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT uq_outbox_events_club_sequence UNIQUE (club_id, sequence)
+);
+
+-- The dispatcher's queue; published rows drop out of the index
+CREATE INDEX idx_outbox_events_unpublished ON outbox_events(club_id, sequence) WHERE published_at IS NULL;
+CREATE INDEX idx_outbox_events_published_at ON outbox_events(published_at) WHERE published_at IS NOT NULL;
@@ -0,0 +1,25 @@
+-- Invoice drafts queued for each company's accounting system, one per closed bill. The row is the
+-- export's progress: SENDING rows are leased to a sender until lease_expires_at, so drafts whose
+-- sender crashed are picked up again after a restart. bill_id is unique, which makes queueing a
+-- redelivered BILL_CLOSED event a no-op; there is no foreign key since bills is partitioned.
+CREATE TABLE invoice_exports (
+    id BIGSERIAL PRIMARY KEY,
+    company_id BIGINT NOT NULL REFERENCES companies(id) ON DELETE CASCADE,
+    club_id BIGINT NOT NULL,
+    bill_id BIGINT NOT NULL,
+    payload JSONB NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING'
+        CHECK (status IN ('PENDING', 'SENDING', 'RETRY', 'SENT', 'REJECTED', 'DEAD', 'CANCELLED')),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    lease_expires_at TIMESTAMP WITH TIME ZONE,
+    external_id VARCHAR(100),
+    last_error TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT uq_invoice_exports_bill UNIQUE (bill_id)
+);
+
+CREATE INDEX idx_invoice_exports_due ON invoice_exports(company_id, next_attempt_at, id) WHERE status IN ('PENDING', 'RETRY');
+CREATE INDEX idx_invoice_exports_leased ON invoice_exports(lease_expires_at) WHERE status = 'SENDING';
+CREATE INDEX idx_invoice_exports_failed ON invoice_exports(company_id, id) WHERE status IN ('REJECTED', 'DEAD');
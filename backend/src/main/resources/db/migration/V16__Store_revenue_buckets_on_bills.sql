@@ -0,0 +1,16 @@
+-- The revenue_rollups bucket a PAID bill was counted in, stamped when it is paid. Cancelling the
+-- bill takes its revenue out of exactly this bucket, even if the table's type changed since.
+ALTER TABLE bills
+    ADD COLUMN revenue_bucket_date DATE,
+    ADD COLUMN revenue_bucket_hour SMALLINT,
+    ADD COLUMN revenue_payment_method VARCHAR(20),
+    ADD COLUMN revenue_table_type VARCHAR(20);
+
+-- Same expressions the rollups were built with, so existing rows keep matching their bills
+UPDATE bills b
+SET revenue_bucket_date = CAST(b.paid_at AS DATE),
+    revenue_bucket_hour = EXTRACT(HOUR FROM b.paid_at),
+    revenue_payment_method = COALESCE(b.payment_method, 'CASH'),
+    revenue_table_type = t.type
+FROM tables t
+WHERE t.id = b.table_id AND b.status = 'PAID' AND b.paid_at IS NOT NULL;
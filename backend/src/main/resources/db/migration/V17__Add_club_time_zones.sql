@@ -0,0 +1,21 @@
+-- IANA time zone of the club. Revenue is bucketed by the club's local date and hour, computed with
+-- AT TIME ZONE so the result does not depend on the database session's TimeZone setting.
+ALTER TABLE clubs ADD COLUMN time_zone VARCHAR(64) NOT NULL DEFAULT 'Asia/Ho_Chi_Minh';
+
+-- Re-stamp paid bills in their club's zone and rebuild the rollups from the stamps
+UPDATE bills b
+SET revenue_bucket_date = CAST(b.paid_at AT TIME ZONE c.time_zone AS DATE),
+    revenue_bucket_hour = EXTRACT(HOUR FROM b.paid_at AT TIME ZONE c.time_zone)
+FROM clubs c
+WHERE c.id = b.club_id AND b.status = 'PAID' AND b.paid_at IS NOT NULL;
+
+DELETE FROM revenue_rollups;
+
+INSERT INTO revenue_rollups (club_id, company_id, bucket_date, bucket_hour, payment_method, table_type,
+                             bill_count, table_fee_total, revenue_total)
+SELECT b.club_id, b.company_id, b.revenue_bucket_date, b.revenue_bucket_hour, b.revenue_payment_method,
+       b.revenue_table_type, COUNT(*), SUM(b.table_fee), SUM(b.total_amount)
+FROM bills b
+WHERE b.status = 'PAID' AND b.revenue_bucket_date IS NOT NULL
+GROUP BY b.club_id, b.company_id, b.revenue_bucket_date, b.revenue_bucket_hour, b.revenue_payment_method,
+         b.revenue_table_type;
@@ -0,0 +1,20 @@
+-- Active bookings of a table may not overlap, whichever instance or writer inserts them.
+-- The in-memory availability index only serializes bookings made through one JVM.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Overlaps accepted concurrently before this constraint existed: keep the earliest booking
+UPDATE bookings b
+SET status = 'CANCELLED', updated_at = CURRENT_TIMESTAMP
+WHERE b.status IN ('PENDING', 'CONFIRMED')
+  AND EXISTS (SELECT 1
+              FROM bookings o
+              WHERE o.table_id = b.table_id
+                AND o.id < b.id
+                AND o.status IN ('PENDING', 'CONFIRMED')
+                AND o.start_time < b.end_time
+                AND o.end_time > b.start_time);
+
+-- Half-open ranges, like BookingRepository.existsOverlapping: back-to-back bookings are allowed
+ALTER TABLE bookings ADD CONSTRAINT bookings_no_overlap
+    EXCLUDE USING gist (table_id WITH =, tstzrange(start_time, end_time) WITH &&)
+    WHERE (status IN ('PENDING', 'CONFIRMED'));
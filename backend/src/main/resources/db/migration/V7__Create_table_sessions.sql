@@ -0,0 +1,22 @@
+-- Durable checkpoints of running table sessions for the in-memory fee meter.
+-- Written on start/pause/resume/stop only; the running fee is derived from these timestamps.
+CREATE TABLE table_sessions (
+    id BIGSERIAL PRIMARY KEY,
+    table_id BIGINT NOT NULL REFERENCES tables(id) ON DELETE CASCADE,
+    club_id BIGINT NOT NULL REFERENCES clubs(id) ON DELETE CASCADE,
+    status VARCHAR(20) NOT NULL DEFAULT 'RUNNING' CHECK (status IN ('RUNNING', 'PAUSED', 'CLOSED')),
+    hourly_rate DECIMAL(10,2) NOT NULL,
+    started_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    paused_at TIMESTAMP WITH TIME ZONE,
+    paused_seconds BIGINT NOT NULL DEFAULT 0,
+    ended_at TIMESTAMP WITH TIME ZONE,
+    table_fee DECIMAL(10,2),
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+-- At most one open session per table
+CREATE UNIQUE INDEX uq_table_sessions_open_table ON table_sessions(table_id) WHERE status <> 'CLOSED';
+CREATE INDEX idx_table_sessions_club_status ON table_sessions(club_id, status);
+
+CREATE TRIGGER update_table_sessions_updated_at BEFORE UPDATE ON table_sessions FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
@@ -0,0 +1,8 @@
+-- Order and OrderItem ids are allocated by Hibernate in blocks of 50 (pooled-lo) so inserts can be
+-- JDBC-batched. The serial sequences keep their names; each nextval now reserves a block of 50 ids.
+-- Column defaults still draw from the same sequences, so plain SQL inserts never collide with a block.
+ALTER SEQUENCE orders_id_seq INCREMENT BY 50;
+ALTER SEQUENCE order_items_id_seq INCREMENT BY 50;
+
+SELECT setval('orders_id_seq', COALESCE((SELECT MAX(id) FROM orders), 0) + 1, false);
+SELECT setval('order_items_id_seq', COALESCE((SELECT MAX(id) FROM order_items), 0) + 1, false);
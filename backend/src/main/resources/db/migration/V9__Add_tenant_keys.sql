@@ -0,0 +1,42 @@
+-- Denormalized tenant keys so per-club and per-company queries no longer join through tables/clubs.
+-- A table never moves between clubs, so the keys are fixed at insert time.
+ALTER TABLE bookings ADD COLUMN club_id BIGINT REFERENCES clubs(id) ON DELETE CASCADE;
+ALTER TABLE bookings ADD COLUMN company_id BIGINT REFERENCES companies(id) ON DELETE CASCADE;
+ALTER TABLE orders ADD COLUMN club_id BIGINT REFERENCES clubs(id) ON DELETE CASCADE;
+ALTER TABLE orders ADD COLUMN company_id BIGINT REFERENCES companies(id) ON DELETE CASCADE;
+ALTER TABLE order_items ADD COLUMN club_id BIGINT REFERENCES clubs(id) ON DELETE CASCADE;
+ALTER TABLE order_items ADD COLUMN company_id BIGINT REFERENCES companies(id) ON DELETE CASCADE;
+ALTER TABLE bills ADD COLUMN club_id BIGINT REFERENCES clubs(id) ON DELETE CASCADE;
+ALTER TABLE bills ADD COLUMN company_id BIGINT REFERENCES companies(id) ON DELETE CASCADE;
+
+-- Backfill
+UPDATE bookings b SET club_id = c.id, company_id = c.company_id
+FROM tables t JOIN clubs c ON c.id = t.club_id
+WHERE b.table_id = t.id;
+
+UPDATE orders o SET club_id = c.id, company_id = c.company_id
+FROM tables t JOIN clubs c ON c.id = t.club_id
+WHERE o.table_id = t.id;
+
+UPDATE order_items i SET club_id = o.club_id, company_id = o.company_id
+FROM orders o
+WHERE i.order_id = o.id;
+
+UPDATE bills b SET club_id = c.id, company_id = c.company_id
+FROM tables t JOIN clubs c ON c.id = t.club_id
+WHERE b.table_id = t.id;
+
+ALTER TABLE bookings ALTER COLUMN club_id SET NOT NULL, ALTER COLUMN company_id SET NOT NULL;
+ALTER TABLE orders ALTER COLUMN club_id SET NOT NULL, ALTER COLUMN company_id SET NOT NULL;
+ALTER TABLE order_items ALTER COLUMN club_id SET NOT NULL, ALTER COLUMN company_id SET NOT NULL;
+ALTER TABLE bills ALTER COLUMN club_id SET NOT NULL, ALTER COLUMN company_id SET NOT NULL;
+
+-- Per-club dashboards filter by status and a time range; INCLUDE lets revenue sums run index-only
+CREATE INDEX idx_orders_club_status_created ON orders(club_id, status, created_at) INCLUDE (total_amount);
+CREATE INDEX idx_bills_club_status_created ON bills(club_id, status, created_at) INCLUDE (total_amount, table_fee);
+CREATE INDEX idx_bookings_club_status_start ON bookings(club_id, status, start_time) INCLUDE (table_id, end_time);
+CREATE INDEX idx_order_items_club_created ON order_items(club_id, created_at) INCLUDE (product_id, quantity, total_price);
+
+-- Per-company roll-ups and exports
+CREATE INDEX idx_bills_company_created ON bills(company_id, created_at);
+CREATE INDEX idx_orders_company_created ON orders(company_id, created_at);